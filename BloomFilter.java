@@ -0,0 +1,80 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size Bloom filter of strings.
+ *
+ * {@link #mightContain(String)} never returns false for an added string and returns true for a string that was not
+ * added with about the false positive probability the filter was sized for. The bit positions are derived from the
+ * string's hash code by double hashing, so neither adding nor checking allocates.
+ *
+ * Strings may be added while the filter is checked by other threads: a string is visible to every check that starts
+ * after its add returned. Adds must not run concurrently with each other.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+    private volatile int setBits;
+
+    /**
+     * @param expectedInsertions The number of strings the filter is sized for
+     * @param falsePositiveProbability The false positive probability at the expected number of strings
+     */
+    BloomFilter(int expectedInsertions, double falsePositiveProbability) {
+        int insertions = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(
+            -insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))
+        );
+        this.bitCount = (int) Math.min(Math.max(64, optimalBits), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    void add(String value) {
+        int hash1 = value.hashCode();
+        int hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            long mask = 1L << bit;
+            long word = bits.get(bit >>> 6);
+            if ((word & mask) == 0) {
+                // Adds are serialized, so the word cannot have changed since it was read
+                bits.set(bit >>> 6, word | mask);
+                setBits++;
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        int hash1 = value.hashCode();
+        int hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The false positive probability estimated from the share of bits set
+     */
+    double expectedFalsePositiveProbability() {
+        return Math.pow((double) setBits / bitCount, hashCount);
+    }
+
+    // The finalizer of MurmurHash3, so the second hash is not a linear function of the first; odd to cover all bits
+    private static int mix(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
@@ -0,0 +1,38 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.BookUnitPartDTO;
+import java.util.List;
+
+/**
+ * Published by {@link PrerequisiteReportLookup} whenever book unit parts were loaded through the use case, before
+ * they are cached or returned, so components holding data derived from them never lag behind what is served.
+ */
+public class BookUnitPartsLoadedEvent {
+
+    private final String grade;
+    private final String prereqConfigId;
+    private final List<BookUnitPartDTO> bookUnitParts;
+
+    /**
+     * @param grade The grade of the book unit parts
+     * @param prereqConfigId The prereqConfigId of the book unit parts
+     * @param bookUnitParts The loaded book unit parts
+     */
+    public BookUnitPartsLoadedEvent(String grade, String prereqConfigId, List<BookUnitPartDTO> bookUnitParts) {
+        this.grade = grade;
+        this.prereqConfigId = prereqConfigId;
+        this.bookUnitParts = bookUnitParts;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public String getPrereqConfigId() {
+        return prereqConfigId;
+    }
+
+    public List<BookUnitPartDTO> getBookUnitParts() {
+        return bookUnitParts;
+    }
+}
@@ -0,0 +1,173 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stops calling a failing downstream dependency for a while instead of piling up requests on it.
+ *
+ * The breaker opens after failureThreshold consecutive failed calls and then rejects every call with
+ * {@link OpenException} for openDuration. After that a single trial call is let through (HALF_OPEN): if it
+ * succeeds the breaker closes again, otherwise it stays open for another openDuration. Exceptions the failure
+ * predicate does not accept, e.g. a DataNotFoundException, are passed on without counting as failures.
+ *
+ * The state is published as prerequisite.report.circuit.state (0 closed, 1 half open, 2 open), every transition
+ * as prerequisite.report.circuit.transitions and rejected calls as prerequisite.report.circuit.rejected.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN,
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Predicate<Throwable> isFailure;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(
+        String name,
+        int failureThreshold,
+        Duration openDuration,
+        Predicate<Throwable> isFailure,
+        MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.isFailure = isFailure;
+        this.meterRegistry = meterRegistry;
+        this.rejected =
+            Counter.builder("prerequisite.report.circuit.rejected").tag("circuit", name).register(meterRegistry);
+        Gauge
+            .builder("prerequisite.report.circuit.state", this, breaker -> breaker.getState().ordinal())
+            .tag("circuit", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call unless the breaker is open.
+     *
+     * @param call The downstream invocation
+     * @return The result of the call
+     * @throws OpenException if the breaker is open and the call was not attempted
+     */
+    public <V> V execute(Supplier<? extends V> call) {
+        boolean trial = acquirePermission();
+        V result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            onCompletion(trial, isFailure.test(e));
+            throw e;
+        }
+        onCompletion(trial, false);
+        return result;
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns whether the permitted call is the trial call of the half open state
+    private boolean acquirePermission() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED) {
+                return false;
+            }
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        rejected.increment();
+        throw new OpenException(name);
+    }
+
+    private void onCompletion(boolean trial, boolean failed) {
+        lock.lock();
+        try {
+            if (trial) {
+                trialInFlight = false;
+                if (failed) {
+                    open();
+                } else {
+                    consecutiveFailures = 0;
+                    transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                consecutiveFailures = failed ? consecutiveFailures + 1 : 0;
+                if (consecutiveFailures >= failureThreshold) {
+                    open();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        consecutiveFailures = 0;
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State next) {
+        if (state == next) {
+            return;
+        }
+        log.warn("Circuit breaker {} changed from {} to {}", name, state, next);
+        Counter
+            .builder("prerequisite.report.circuit.transitions")
+            .tag("circuit", name)
+            .tag("from", state.name())
+            .tag("to", next.name())
+            .register(meterRegistry)
+            .increment();
+        state = next;
+    }
+
+    /**
+     * Thrown instead of calling the downstream dependency while the breaker is open. It does not capture a stack
+     * trace, as it is thrown for every call during an outage and would only ever point at {@link #execute}.
+     */
+    public static class OpenException extends RuntimeException {
+
+        public OpenException(String name) {
+            super("Circuit breaker " + name + " is open");
+        }
+
+        @Override
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.time.LocalDateTime;
+
+/**
+ * Provides the current local date-time at a coarse resolution for error response timestamps.
+ *
+ * The LocalDateTime is recomputed at most once per resolution, so under a burst of error responses the
+ * timestamp costs a System.currentTimeMillis() call instead of a time zone lookup and two allocations.
+ */
+final class CoarseClock {
+
+    private static final long RESOLUTION_MILLIS = 100;
+
+    private static volatile Tick tick = new Tick(System.currentTimeMillis(), LocalDateTime.now());
+
+    private CoarseClock() {}
+
+    /**
+     * @return The current local date-time, at most RESOLUTION_MILLIS behind
+     */
+    static LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Tick current = tick;
+        if (millis - current.millis >= RESOLUTION_MILLIS) {
+            // Racing threads may each compute a new tick, any of them is recent enough
+            current = new Tick(millis, LocalDateTime.now());
+            tick = current;
+        }
+        return current.dateTime;
+    }
+
+    private static final class Tick {
+
+        private final long millis;
+        private final LocalDateTime dateTime;
+
+        private Tick(long millis, LocalDateTime dateTime) {
+            this.millis = millis;
+            this.dateTime = dateTime;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * A compiled fields= projection: the canonical, sorted list of the requested properties together with the
+ * Jackson writers that emit only those properties, built once per ObjectMapper and then reused.
+ * Instances are created and cached by {@link SkillProjections}.
+ */
+public final class FieldProjection {
+
+    /**
+     * The projection of a request without fields=, which serializes every property.
+     */
+    public static final FieldProjection ALL = new FieldProjection("", Set.of(), null, null);
+
+    private final String fields;
+    private final Set<String> properties;
+    private final FilterProvider filters;
+    private final UnaryOperator<ObjectMapper> projectingMapper;
+    private final Map<ObjectMapper, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    FieldProjection(
+        String fields,
+        Set<String> properties,
+        FilterProvider filters,
+        UnaryOperator<ObjectMapper> projectingMapper
+    ) {
+        this.fields = fields;
+        this.properties = properties;
+        this.filters = filters;
+        this.projectingMapper = projectingMapper;
+    }
+
+    /**
+     * @return The canonical form of the projection, e.g. "name,skillId", empty for {@link #ALL}
+     */
+    public String getFields() {
+        return fields;
+    }
+
+    public Set<String> getProperties() {
+        return properties;
+    }
+
+    public boolean isAll() {
+        return properties.isEmpty();
+    }
+
+    /**
+     * Returns the writer emitting only the projected properties, derived from the given ObjectMapper so that
+     * its configuration and data format, e.g. JSON or CBOR, are kept.
+     *
+     * @param objectMapper The ObjectMapper the response would otherwise be written with
+     * @return The projecting ObjectWriter
+     */
+    public ObjectWriter writerFor(ObjectMapper objectMapper) {
+        if (isAll()) {
+            return objectMapper.writer();
+        }
+        return writers.computeIfAbsent(objectMapper, mapper -> projectingMapper.apply(mapper).writer(filters));
+    }
+
+    @Override
+    public String toString() {
+        return fields;
+    }
+}
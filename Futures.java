@@ -0,0 +1,40 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for working with the CompletableFutures of the prerequisite report web adapter.
+ */
+final class Futures {
+
+    private Futures() {}
+
+    /**
+     * Waits for the future and returns its result, rethrowing the original exception it failed with
+     * so that the controller exception handlers see the use case exceptions unchanged.
+     */
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the exception a dependent CompletableFuture stage failed with, without its CompletionException wrapper.
+     */
+    static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+    }
+}
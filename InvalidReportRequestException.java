@@ -0,0 +1,33 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.support.exception.InvalidRequestException;
+
+/**
+ * An InvalidRequestException of the prerequisite report endpoints that does not capture a stack trace.
+ *
+ * It is thrown for rejected input, where the stack trace would only ever point at the validation code, so
+ * skipping it keeps the cost of a bad request close to the cost of a good one. The exceptions for the fixed
+ * validation messages are allocated once and shared, which is safe as they carry no per request state.
+ */
+public class InvalidReportRequestException extends InvalidRequestException {
+
+    static final InvalidReportRequestException INVALID_PARAMETERS = new InvalidReportRequestException(
+        "Empty/Invalid Input Parameters"
+    );
+    static final InvalidReportRequestException EMPTY_ARGUMENTS = new InvalidReportRequestException(
+        "Request arguments cannot be empty"
+    );
+    static final InvalidReportRequestException GRADE_OR_IDS_REQUIRED = new InvalidReportRequestException(
+        "Either grade or bookUnitPartIds must be given with prereqConfigId"
+    );
+    static final InvalidReportRequestException INVALID_CURSOR = new InvalidReportRequestException("Invalid cursor");
+
+    public InvalidReportRequestException(String message) {
+        super(message);
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,239 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.BookUnitPartDTO;
+import com.cainc.commoncontent.support.exception.DataNotFoundException;
+import com.cainc.commons.core.enums.GradeLevelEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a Bloom filter of the bookUnitPartIds of the prereqConfigIds listed in prerequisite-report.warm-up,
+ * so skills requests for ids that are definitely unknown can be answered with 404 before any use case call.
+ *
+ * The use case cannot enumerate all valid ids, so the filter is built from the book unit parts of every grade
+ * of the covered prereqConfigIds and only requests for a covered prereqConfigId are checked; all others pass.
+ * The filter is built from uncached use case calls and rebuilt every rebuild-interval, which only drops ids that
+ * no longer exist. Since the filter must never reject a valid id, the ids of every book unit parts load are added
+ * to it before they are served (see {@link BookUnitPartsLoadedEvent}), including the loads during a rebuild, so an
+ * id listed by the book unit parts endpoint is always known, whatever the cache TTLs. The filter is also dropped as
+ * soon as content is evicted (see {@link ReportContentEvictedEvent}), letting every request pass until a rebuild
+ * with the republished content is done. A rebuild in which a grade fails to load keeps the previous filter, since
+ * an incomplete filter would reject valid ids. Disabled unless prerequisite-report.known-ids.enabled is set.
+ *
+ * The rebuild time is published as prerequisite.report.known-ids.rebuild, the estimated false positive rate
+ * as prerequisite.report.known-ids.false-positive-rate and the rejected requests as
+ * prerequisite.report.known-ids.rejected.
+ */
+@Component
+@Slf4j
+public class KnownBookUnitParts implements ApplicationRunner {
+
+    private final PrerequisiteReportLookup prerequisiteReportLookup;
+    private final Set<String> prereqConfigIds;
+    private final boolean enabled;
+    private final double falsePositiveProbability;
+    private final Duration rebuildInterval;
+    private final Timer rebuilds;
+    private final Counter rejected;
+    private final ScheduledExecutorService scheduler;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Null until the first complete build and after content was evicted
+    private volatile BloomFilter filter;
+    // Incremented on every eviction, so a rebuild that started before it does not install a filter missing new ids
+    private long generation;
+    // Entries loaded while a rebuild runs, added to the rebuilt filter before it is installed; null otherwise
+    private List<String> loadedDuringRebuild;
+
+    public KnownBookUnitParts(
+        PrerequisiteReportLookup prerequisiteReportLookup,
+        MeterRegistry meterRegistry,
+        @Value("${prerequisite-report.warm-up.prereq-config-ids:}") List<String> prereqConfigIds,
+        @Value("${prerequisite-report.known-ids.enabled:false}") boolean enabled,
+        @Value("${prerequisite-report.known-ids.false-positive-probability:0.01}") double falsePositiveProbability,
+        @Value("${prerequisite-report.known-ids.rebuild-interval:15m}") Duration rebuildInterval
+    ) {
+        this.prerequisiteReportLookup = prerequisiteReportLookup;
+        this.prereqConfigIds =
+            prereqConfigIds.stream().filter(id -> !id.isBlank()).map(String::trim).collect(Collectors.toSet());
+        this.enabled = enabled && !this.prereqConfigIds.isEmpty();
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.rebuildInterval = rebuildInterval;
+        this.rebuilds = meterRegistry.timer("prerequisite.report.known-ids.rebuild");
+        this.rejected = meterRegistry.counter("prerequisite.report.known-ids.rejected");
+        this.scheduler =
+            this.enabled
+                ? Executors.newSingleThreadScheduledExecutor(
+                    new CustomizableThreadFactory("prerequisite-report-known-ids-")
+                )
+                : null;
+        Gauge
+            .builder("prerequisite.report.known-ids.false-positive-rate", this, KnownBookUnitParts::falsePositiveRate)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::rebuild, 0, rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drops the filter when content is evicted, e.g. because it was republished with new book unit parts,
+     * and rebuilds it right away.
+     */
+    @EventListener
+    public void onContentEvicted(ReportContentEvictedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            generation++;
+            filter = null;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Dropped known bookUnitPartIds filter after content was evicted, rebuilding");
+        try {
+            scheduler.execute(this::rebuild);
+        } catch (RejectedExecutionException e) {
+            log.info("Not rebuilding known bookUnitPartIds filter while shutting down");
+        }
+    }
+
+    /**
+     * Adds the ids of loaded book unit parts to the filter before they are served, so ids published after the last
+     * rebuild are never rejected.
+     */
+    @EventListener
+    public void onBookUnitPartsLoaded(BookUnitPartsLoadedEvent event) {
+        if (!enabled || !prereqConfigIds.contains(event.getPrereqConfigId())) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (BookUnitPartDTO bookUnitPart : event.getBookUnitParts()) {
+                String entry = entry(event.getPrereqConfigId(), bookUnitPart.getBookUnitPartId());
+                if (filter != null) {
+                    filter.add(entry);
+                }
+                if (loadedDuringRebuild != null) {
+                    loadedDuringRebuild.add(entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @param bookUnitPartId The requested bookUnitPartId
+     * @param prereqConfigId The requested prereqConfigId
+     * @return false only if the bookUnitPartId is definitely not a book unit part of the prereqConfigId
+     */
+    public boolean mightExist(String bookUnitPartId, String prereqConfigId) {
+        BloomFilter current = filter;
+        if (current == null || !prereqConfigIds.contains(prereqConfigId)) {
+            return true;
+        }
+        if (current.mightContain(entry(prereqConfigId, bookUnitPartId))) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        long startedGeneration;
+        lock.lock();
+        try {
+            startedGeneration = generation;
+            loadedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            List<String> entries = new ArrayList<>();
+            for (String prereqConfigId : prereqConfigIds) {
+                for (GradeLevelEnum gradeLevel : GradeLevelEnum.values()) {
+                    String grade = gradeLevel.getAuthoringAbbreviation();
+                    for (BookUnitPartDTO bookUnitPart : bookUnitParts(grade, prereqConfigId)) {
+                        entries.add(entry(prereqConfigId, bookUnitPart.getBookUnitPartId()));
+                    }
+                }
+            }
+            BloomFilter rebuilt = new BloomFilter(entries.size(), falsePositiveProbability);
+            entries.forEach(rebuilt::add);
+            lock.lock();
+            try {
+                if (generation != startedGeneration) {
+                    log.info("Discarding known bookUnitPartIds filter built before content was evicted");
+                    return;
+                }
+                // Loads that finished after this rebuild fetched their grade may have listed ids it did not see
+                loadedDuringRebuild.forEach(rebuilt::add);
+                filter = rebuilt;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Rebuilt known bookUnitPartIds filter with {} entries", entries.size());
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding known bookUnitPartIds filter failed, keeping the previous filter: ", e);
+        } finally {
+            lock.lock();
+            try {
+                loadedDuringRebuild = null;
+            } finally {
+                lock.unlock();
+            }
+            rebuilds.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private List<BookUnitPartDTO> bookUnitParts(String grade, String prereqConfigId) {
+        try {
+            return prerequisiteReportLookup.fetchBookUnitParts(grade, prereqConfigId);
+        } catch (DataNotFoundException e) {
+            return List.of();
+        }
+    }
+
+    private double falsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 0.0 : current.expectedFalsePositiveProbability();
+    }
+
+    private static String entry(String prereqConfigId, String bookUnitPartId) {
+        return prereqConfigId + '\u0000' + bookUnitPartId;
+    }
+}
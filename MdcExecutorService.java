@@ -0,0 +1,76 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.MDC;
+
+/**
+ * Runs tasks on the delegate with the MDC of the thread that submitted them, so log lines of the use case calls keep
+ * the request correlation. The MDC is restored to the executor thread's own values once the task is done, as pool
+ * threads are reused.
+ *
+ * RequestAttributes are deliberately not propagated: Spring MVC completes them as soon as an async handler returns,
+ * so a task reading the request or a request scoped bean would fail whenever it runs after the servlet thread left.
+ * Everything downstream clients need of the caller, e.g. the JWT, is in the SecurityContext, which is propagated by
+ * the DelegatingSecurityContextExecutorService wrapping this executor.
+ */
+final class MdcExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    MdcExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        delegate.execute(
+            () -> {
+                Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+                setMdc(mdc);
+                try {
+                    task.run();
+                } finally {
+                    setMdc(previousMdc);
+                }
+            }
+        );
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    private static void setMdc(Map<String, String> mdc) {
+        if (mdc == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdc);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint evicting cached prerequisite report content, to be called by the content publishing
+ * pipeline after it republished content, e.g. DELETE /actuator/prerequisiteReportCache?grade=K&prereqConfigId=1
+ * for one grade and prereqConfigId or DELETE /actuator/prerequisiteReportCache for everything.
+ *
+ * Like every actuator endpoint it is only reachable over HTTP once it is listed in
+ * management.endpoints.web.exposure.include, behind the management port and its security.
+ */
+@Component
+@Endpoint(id = "prerequisiteReportCache")
+@Slf4j
+public class PrerequisiteReportCacheEndpoint {
+
+    private final PrerequisiteReportLookup prerequisiteReportLookup;
+
+    public PrerequisiteReportCacheEndpoint(PrerequisiteReportLookup prerequisiteReportLookup) {
+        this.prerequisiteReportLookup = prerequisiteReportLookup;
+    }
+
+    /**
+     * Evicts the cached content of a grade and prereqConfigId, or all cached content if neither is given.
+     *
+     * @param grade The grade whose book unit parts were republished
+     * @param prereqConfigId The prereqConfigId whose book unit parts were republished
+     */
+    @DeleteOperation
+    public void evict(@Nullable String grade, @Nullable String prereqConfigId) {
+        if (grade == null && prereqConfigId == null) {
+            prerequisiteReportLookup.evictAll();
+            return;
+        }
+        if (grade == null || prereqConfigId == null) {
+            throw new InvalidEndpointRequestException(
+                "grade and prereqConfigId must be given together",
+                "Either both or none of grade and prereqConfigId must be given"
+            );
+        }
+        prerequisiteReportLookup.evictBookUnitParts(grade, prereqConfigId);
+    }
+}
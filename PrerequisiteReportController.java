@@ -3,17 +3,19 @@ package com.cainc.commoncontent.adapters.web.in;
 import static com.cainc.commoncontent.shared.SecurityRoleConstants.*;
 
 import com.cainc.commoncontent.adapters.web.in.request.prerequisitereport.PrerequisiteReportConfigurationsRequest;
+import com.cainc.commoncontent.adapters.web.in.response.prerequisitereport.PrerequisiteReportBootstrapResponse;
+import com.cainc.commoncontent.adapters.web.in.response.prerequisitereport.PrerequisiteReportSkillsBatch;
+import com.cainc.commoncontent.adapters.web.in.response.prerequisitereport.PrerequisiteReportSkillsPage;
 import com.cainc.commoncontent.core.domain.customErrorResponses.CustomErrorResponse;
 import com.cainc.commoncontent.core.domain.prerequisitereportdto.BookUnitPartDTO;
 import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportConfigurationDTO;
 import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportSkillDTO;
-import com.cainc.commoncontent.core.ports.in.PrerequisiteReportUseCase;
 import com.cainc.commoncontent.shared.ExcludeFromJacocoGeneratedReport;
 import com.cainc.commoncontent.support.exception.DataNotFoundException;
 import com.cainc.commoncontent.support.exception.InvalidRequestException;
-import com.cainc.commons.core.enums.GradeLevelEnum;
 import com.cainc.commons.session.validation.support.GlobalSessionId;
 import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Tags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
@@ -26,10 +28,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import io.swagger.v3.oas.annotations.security.SecuritySchemes;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -41,13 +44,16 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.ObjectError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * This is the controller for the Prerequisite Report Content feature.
@@ -75,19 +81,65 @@ import org.springframework.web.bind.annotation.RestController;
 // The PreAuthorize annotation on the method means that it also requires a valid JWT that is authorized as an educator. See WebSecurityConfig.
 public class PrerequisiteReportController {
 
+    // Upper bound on the bookUnitPartIds of a single batch skills request
+    private static final int MAX_BATCH_BOOK_UNIT_PART_IDS = 100;
+
+    // Page size of /prerequisite-report-skills/page when no limit is given, and its upper bound
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // Metric and Flight Recorder endpoint names of the handlers that are not served through the response cache
+    private static final String BOOK_UNIT_PARTS_NDJSON = "book-unit-parts/ndjson";
+    private static final String SKILLS_NDJSON = "prerequisite-report-skills/ndjson";
+    private static final String SKILLS_PAGE = "prerequisite-report-skills/page";
+    private static final String SKILLS_STREAM = "prerequisite-report-skills/stream";
+    private static final String SKILLS_BATCH = "prerequisite-report-skills/batch";
+    private static final String BOOTSTRAP = "prerequisite-report-bootstrap";
+
+    // Bad requests and unknown content are client errors, logged at most ten times per second each
+    private static final RateLimitedLog INVALID_REQUEST_LOG = new RateLimitedLog(10, Duration.ofSeconds(1));
+    private static final RateLimitedLog NOT_FOUND_LOG = new RateLimitedLog(10, Duration.ofSeconds(1));
+    // Every request is rejected while a circuit breaker is open, so that is logged at most once per second
+    private static final RateLimitedLog CIRCUIT_OPEN_LOG = new RateLimitedLog(1, Duration.ofSeconds(1));
+
+    @Autowired
+    PrerequisiteReportLookup prerequisiteReportLookup;
+
+    @Autowired
+    ReportResponseCache reportResponseCache;
+
+    @Autowired
+    SkillProjections skillProjections;
+
+    @Autowired
+    ReportStreamWriter reportStreamWriter;
+
+    @Autowired
+    KnownBookUnitParts knownBookUnitParts;
+
     @Autowired
-    PrerequisiteReportUseCase prerequisiteReportUseCase;
+    ReportMetrics reportMetrics;
 
     /**
      * This method handles the GET request to fetch book unit parts based on the grade and prereqConfigId
-     * It uses the PrerequisiteReportUseCase to fetch the data.
+     * It uses the PrerequisiteReportUseCase to fetch the data, serving repeated requests from the serialized response cache.
+     * The data is fetched on the prerequisite report executor, so the request thread is released right after validation.
      *
      * @param grade The grade for which the book unit parts are to be fetched
      * @param prereqConfigId The prereqConfigId used to get BookSeriesId which is used to fetch book unit parts
+     * @param headers The request headers: Accept selects JSON, CBOR or Smile, Accept-Encoding gzip, and
+     *        If-None-Match is answered with 304 when it matches the ETag of the content
      * @param sessionId The session ID of the user making the request
-     * @return A list of BookUnitPartDTO object.
+     * @return A future of the list of BookUnitPartDTO object, serialized in the negotiated media type.
      */
-    @GetMapping("/book-unit-parts")
+    @GetMapping(
+        value = "/book-unit-parts",
+        produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE,
+            ReportResponseCache.APPLICATION_SMILE_VALUE,
+        }
+    )
     @Operation(
         summary = "Returns the list of Book Unit Parts.",
         description = "Returns the list of Book Unit Parts DTOs."
@@ -99,6 +151,11 @@ public class PrerequisiteReportController {
                 description = "Returned the list of Book Unit Parts successfully.",
                 content = @Content(array = @ArraySchema(schema = @Schema(implementation = BookUnitPartDTO.class)))
             ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Not Modified",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
             @ApiResponse(
                 responseCode = "400",
                 description = "Bad Request",
@@ -126,41 +183,161 @@ public class PrerequisiteReportController {
             ),
         }
     )
-    public ResponseEntity<List<BookUnitPartDTO>> getBookUnitsParts(
+    public CompletableFuture<ResponseEntity<byte[]>> getBookUnitsParts(
         @RequestParam String grade,
         @RequestParam String prereqConfigId,
+        @Parameter(hidden = true) @RequestHeader HttpHeaders headers,
         @Parameter(hidden = true) @GlobalSessionId String sessionId
-    ) {
-        //Validate if the given Strings are empty or if the given grade is valid
-        if (grade.isBlank() || prereqConfigId.isBlank() || !isGivenGradeValid(grade)) {
-            throw new InvalidRequestException("Empty/Invalid Input Parameters");
-        }
+    ) throws HttpMediaTypeNotAcceptableException {
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(
+            PrerequisiteReportLookup.BOOK_UNIT_PARTS
+        );
+        event.grade = grade;
+        event.prereqConfigId = prereqConfigId;
+        ReportTiming timing = new ReportTiming();
+        Tags dimensions = reportMetrics.gradeTags(grade);
+        MediaType mediaType = negotiate(event, timing, dimensions, headers);
+        return recorded(
+            event,
+            timing,
+            dimensions,
+            () -> {
+                long validation = System.nanoTime();
+                //Validate if the given grade is valid and the prereqConfigId is not empty
+                ReportRequestValidator.requireGradeAndPrereqConfigId(grade, prereqConfigId);
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
 
-        // Logging the request details
-        log.info("Getting book unit parts for grade: {}, prereqConfigId: {}", grade, prereqConfigId);
+                // Logging the request details
+                log.info("Getting book unit parts for grade: {}, prereqConfigId: {}", grade, prereqConfigId);
 
-        // Get Book Unit Parts based on grade and prereqConfigId
-        List<BookUnitPartDTO> bookUnitPartDTOs = prerequisiteReportUseCase.getBookUnitPartsByGradeAndPrereqConfigId(
-            grade,
-            prereqConfigId
+                // Get Book Unit Parts based on grade and prereqConfigId, already serialized if they were requested before
+                return reportResponseCache
+                    .get(
+                        ReportKey.of(PrerequisiteReportLookup.BOOK_UNIT_PARTS, grade, prereqConfigId),
+                        mediaType,
+                        timing,
+                        () -> prerequisiteReportLookup.getBookUnitPartsAsync(grade, prereqConfigId)
+                    )
+                    .thenApply(
+                        bookUnitParts -> {
+                            // Logging the size of the serialized book unit parts
+                            log.info("Returning book unit parts of size: {} bytes", bookUnitParts.size());
+                            // Returning the serialized bookUnitPartsDTO which includes Book Unit Parts
+                            return reportResponseCache.toResponse(bookUnitParts, headers, timing);
+                        }
+                    );
+            }
         );
+    }
 
-        // Logging the size of the fetched book unit parts
-        log.info("Returning book unit parts list of size: " + bookUnitPartDTOs.size());
-        // Returning the fetched bookUnitPartsDTO which includes Book Unit Parts
-        return ResponseEntity.ok(bookUnitPartDTOs);
+    /**
+     * This method handles the GET request to fetch book unit parts as newline delimited JSON, selected by
+     * Accept: application/x-ndjson. Every BookUnitPartDTO is written and flushed as a line of its own,
+     * so the client can render the first book unit parts before the last one arrives.
+     *
+     * @param grade The grade for which the book unit parts are to be fetched
+     * @param prereqConfigId The prereqConfigId used to get BookSeriesId which is used to fetch book unit parts
+     * @param sessionId The session ID of the user making the request
+     * @return A future of the ResponseEntity streaming one BookUnitPartDTO per line.
+     */
+    @GetMapping(value = "/book-unit-parts", produces = ReportStreamWriter.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Streams the Book Unit Parts as newline delimited JSON.",
+        description = "Returns the Book Unit Parts DTOs one per line."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Streamed the Book Unit Parts successfully.",
+                content = @Content(mediaType = ReportStreamWriter.APPLICATION_NDJSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Bad Request",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "401",
+                description = "Unauthorized",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Not Found",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "500",
+                description = "Internal Server Error",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Service Unavailable",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+        }
+    )
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamBookUnitParts(
+        @RequestParam String grade,
+        @RequestParam String prereqConfigId,
+        @Parameter(hidden = true) @GlobalSessionId String sessionId
+    ) {
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(BOOK_UNIT_PARTS_NDJSON);
+        event.grade = grade;
+        event.prereqConfigId = prereqConfigId;
+        ReportTiming timing = new ReportTiming();
+        return recorded(
+            event,
+            timing,
+            reportMetrics.gradeTags(grade),
+            () -> {
+                long validation = System.nanoTime();
+                ReportRequestValidator.requireGradeAndPrereqConfigId(grade, prereqConfigId);
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
+                log.info("Streaming book unit parts for grade: {}, prereqConfigId: {}", grade, prereqConfigId);
+                return fetched(timing, () -> prerequisiteReportLookup.getBookUnitPartsAsync(grade, prereqConfigId))
+                    .thenApply(
+                        bookUnitParts -> {
+                            log.info("Streaming book unit parts of size: {}", bookUnitParts.size());
+                            return ResponseEntity
+                                .ok()
+                                .contentType(ReportStreamWriter.APPLICATION_NDJSON)
+                                .body(reportStreamWriter.ndjson(bookUnitParts));
+                        }
+                    );
+            }
+        );
     }
 
     /**
      * This method handles the GET request to fetch prerequisite report skills based on the bookUnitPartId and prereqConfigId
-     * It uses the PrerequisiteReportUseCase to fetch the data.
+     * It uses the PrerequisiteReportUseCase to fetch the data, sharing one call between concurrent identical requests
+     * and serving repeated requests from the serialized response cache.
+     * The data is fetched on the prerequisite report executor, so the request thread is released right after validation.
      *
      * @param bookUnitPartId The bookUnitPartId for which the prerequisite skills are to be fetched
      * @param prereqConfigId The prereqConfigId used to get prerequisite skills are to be fetched
+     * @param fields Comma separated PrerequisiteReportSkillDTO properties to be returned, all properties if absent
+     * @param headers The request headers: Accept selects JSON, CBOR or Smile, Accept-Encoding gzip, and
+     *        If-None-Match is answered with 304 when it matches the ETag of the content
      * @param sessionId The session ID of the user making the request
-     * @return A list of PrerequisiteReportSkillDTO object.
+     * @return A future of the list of PrerequisiteReportSkillDTO object, serialized in the negotiated media type.
      */
-    @GetMapping("/prerequisite-report-skills")
+    @GetMapping(
+        value = "/prerequisite-report-skills",
+        produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE,
+            ReportResponseCache.APPLICATION_SMILE_VALUE,
+        }
+    )
     @ApiResponses(
         value = {
             @ApiResponse(
@@ -170,6 +347,314 @@ public class PrerequisiteReportController {
                     array = @ArraySchema(schema = @Schema(implementation = PrerequisiteReportSkillDTO.class))
                 )
             ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Not Modified",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Bad Request",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "401",
+                description = "Unauthorized",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Not Found",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "500",
+                description = "Internal Server Error",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Service Unavailable",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+        }
+    )
+    public CompletableFuture<ResponseEntity<byte[]>> getPrerequisiteReportSkills(
+        @RequestParam String bookUnitPartId,
+        @RequestParam String prereqConfigId,
+        @RequestParam(required = false) String fields,
+        @Parameter(hidden = true) @RequestHeader HttpHeaders headers,
+        @Parameter(hidden = true) @GlobalSessionId String sessionId
+    ) throws HttpMediaTypeNotAcceptableException {
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(PrerequisiteReportLookup.SKILLS);
+        event.bookUnitPartId = bookUnitPartId;
+        event.prereqConfigId = prereqConfigId;
+        ReportTiming timing = new ReportTiming();
+        // bookUnitPartId and prereqConfigId are unbounded, so skills are not tagged with request dimensions
+        MediaType mediaType = negotiate(event, timing, Tags.empty(), headers);
+        return recorded(
+            event,
+            timing,
+            Tags.empty(),
+            () -> {
+                long validation = System.nanoTime();
+                ReportRequestValidator.requireBookUnitPartIdAndPrereqConfigId(bookUnitPartId, prereqConfigId);
+                requireKnownBookUnitPart(bookUnitPartId, prereqConfigId);
+                FieldProjection projection = skillProjections.parse(fields);
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
+                // Logging the request details
+                log.info(
+                    "Getting Prerequisite Report Skills for bookUnitPartId: {}, prereqConfigId: {}",
+                    bookUnitPartId,
+                    prereqConfigId
+                );
+                return reportResponseCache
+                    .get(
+                        ReportKey.of(
+                            PrerequisiteReportLookup.SKILLS,
+                            bookUnitPartId,
+                            prereqConfigId,
+                            projection.getFields()
+                        ),
+                        mediaType,
+                        projection,
+                        timing,
+                        () -> prerequisiteReportLookup.getPrerequisiteReportSkillsAsync(bookUnitPartId, prereqConfigId)
+                    )
+                    .thenApply(
+                        prerequisiteReportSkills -> {
+                            log.info(
+                                "Returning prerequisite report skills of size: {} bytes",
+                                prerequisiteReportSkills.size()
+                            );
+                            return reportResponseCache.toResponse(prerequisiteReportSkills, headers, timing);
+                        }
+                    );
+            }
+        );
+    }
+
+    /**
+     * This method handles the GET request to fetch prerequisite report skills as newline delimited JSON, selected by
+     * Accept: application/x-ndjson. Every PrerequisiteReportSkillDTO is written and flushed as a line of its own.
+     *
+     * @param bookUnitPartId The bookUnitPartId for which the prerequisite skills are to be fetched
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @param sessionId The session ID of the user making the request
+     * @return A future of the ResponseEntity streaming one PrerequisiteReportSkillDTO per line.
+     */
+    @GetMapping(value = "/prerequisite-report-skills", produces = ReportStreamWriter.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Streams the Prerequisite Report Skills as newline delimited JSON.",
+        description = "Returns the Prerequisite Report Skills DTOs one per line."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Streamed the Prerequisite Report Skills successfully.",
+                content = @Content(mediaType = ReportStreamWriter.APPLICATION_NDJSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Bad Request",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "401",
+                description = "Unauthorized",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Not Found",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "500",
+                description = "Internal Server Error",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Service Unavailable",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+        }
+    )
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamPrerequisiteReportSkillsAsNdjson(
+        @RequestParam String bookUnitPartId,
+        @RequestParam String prereqConfigId,
+        @Parameter(hidden = true) @GlobalSessionId String sessionId
+    ) {
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(SKILLS_NDJSON);
+        event.bookUnitPartId = bookUnitPartId;
+        event.prereqConfigId = prereqConfigId;
+        ReportTiming timing = new ReportTiming();
+        return recorded(
+            event,
+            timing,
+            Tags.empty(),
+            () -> {
+                long validation = System.nanoTime();
+                ReportRequestValidator.requireBookUnitPartIdAndPrereqConfigId(bookUnitPartId, prereqConfigId);
+                requireKnownBookUnitPart(bookUnitPartId, prereqConfigId);
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
+                log.info(
+                    "Streaming Prerequisite Report Skills as NDJSON for bookUnitPartId: {}, prereqConfigId: {}",
+                    bookUnitPartId,
+                    prereqConfigId
+                );
+                return fetched(
+                        timing,
+                        () -> prerequisiteReportLookup.getPrerequisiteReportSkillsAsync(bookUnitPartId, prereqConfigId)
+                    )
+                    .thenApply(
+                        prerequisiteReportSkills -> {
+                            log.info(
+                                "Streaming prerequisite report skills of size: {}",
+                                prerequisiteReportSkills.size()
+                            );
+                            return ResponseEntity
+                                .ok()
+                                .contentType(ReportStreamWriter.APPLICATION_NDJSON)
+                                .body(reportStreamWriter.ndjson(prerequisiteReportSkills));
+                        }
+                    );
+            }
+        );
+    }
+
+    /**
+     * This method handles the GET request to fetch the prerequisite report skills of a book unit part one page at a time.
+     * The first page is requested without cursor, each following page with the nextCursor of the previous one.
+     *
+     * @param bookUnitPartId The bookUnitPartId for which the prerequisite skills are to be fetched
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @param cursor The opaque cursor of the page, absent for the first page
+     * @param limit The maximum number of skills per page, at most MAX_PAGE_SIZE
+     * @param sessionId The session ID of the user making the request
+     * @return A future of the PrerequisiteReportSkillsPage with the skills of the page and the cursor of the next one.
+     */
+    @GetMapping("/prerequisite-report-skills/page")
+    @Operation(
+        summary = "Returns one page of the Prerequisite Report Skills.",
+        description = "Returns the Prerequisite Report Skills of a Book Unit Part page by page, using an opaque cursor."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Returned the page of Prerequisite Report Skills successfully.",
+                content = @Content(schema = @Schema(implementation = PrerequisiteReportSkillsPage.class))
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Bad Request",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "401",
+                description = "Unauthorized",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Not Found",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "500",
+                description = "Internal Server Error",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Service Unavailable",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+        }
+    )
+    public CompletableFuture<PrerequisiteReportSkillsPage> getPrerequisiteReportSkillsPage(
+        @RequestParam String bookUnitPartId,
+        @RequestParam String prereqConfigId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+        @Parameter(hidden = true) @GlobalSessionId String sessionId
+    ) {
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(SKILLS_PAGE);
+        event.bookUnitPartId = bookUnitPartId;
+        event.prereqConfigId = prereqConfigId;
+        ReportTiming timing = new ReportTiming();
+        return recorded(
+            event,
+            timing,
+            Tags.empty(),
+            () -> {
+                long validation = System.nanoTime();
+                ReportRequestValidator.requireBookUnitPartIdAndPrereqConfigId(bookUnitPartId, prereqConfigId);
+                ReportRequestValidator.requireLimit(limit, MAX_PAGE_SIZE);
+                requireKnownBookUnitPart(bookUnitPartId, prereqConfigId);
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
+                log.info(
+                    "Getting Prerequisite Report Skills page for bookUnitPartId: {}, prereqConfigId: {}, limit: {}",
+                    bookUnitPartId,
+                    prereqConfigId,
+                    limit
+                );
+                return fetched(
+                    timing,
+                    () ->
+                        prerequisiteReportLookup.getPrerequisiteReportSkillsPageAsync(
+                            bookUnitPartId,
+                            prereqConfigId,
+                            cursor,
+                            limit
+                        )
+                );
+            }
+        );
+    }
+
+    /**
+     * This method handles the GET request to stream the prerequisite report skills of a book unit part.
+     * The skills are written as one JSON array, one skill at a time, instead of being serialized into a single buffer first,
+     * so large book unit parts do not cause heap spikes while the response is written.
+     *
+     * @param bookUnitPartId The bookUnitPartId for which the prerequisite skills are to be fetched
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @param sessionId The session ID of the user making the request
+     * @return A future of the ResponseEntity streaming the PrerequisiteReportSkillDTO list as a JSON array.
+     */
+    @GetMapping("/prerequisite-report-skills/stream")
+    @Operation(
+        summary = "Streams the list of Prerequisite Report Skills.",
+        description = "Returns the Prerequisite Report Skills of a Book Unit Part as a JSON array written incrementally."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Streamed the list of Prerequisite Report Skills successfully.",
+                content = @Content(
+                    array = @ArraySchema(schema = @Schema(implementation = PrerequisiteReportSkillDTO.class))
+                )
+            ),
             @ApiResponse(
                 responseCode = "400",
                 description = "Bad Request",
@@ -202,39 +687,210 @@ public class PrerequisiteReportController {
             ),
         }
     )
-    public List<PrerequisiteReportSkillDTO> getPrerequisiteReportSkills(
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamPrerequisiteReportSkills(
         @RequestParam String bookUnitPartId,
         @RequestParam String prereqConfigId,
         @Parameter(hidden = true) @GlobalSessionId String sessionId
     ) {
-        if (bookUnitPartId.isBlank() || prereqConfigId.isBlank()) {
-            throw new InvalidRequestException("Request arguments cannot be empty");
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(SKILLS_STREAM);
+        event.bookUnitPartId = bookUnitPartId;
+        event.prereqConfigId = prereqConfigId;
+        ReportTiming timing = new ReportTiming();
+        return recorded(
+            event,
+            timing,
+            Tags.empty(),
+            () -> {
+                long validation = System.nanoTime();
+                ReportRequestValidator.requireBookUnitPartIdAndPrereqConfigId(bookUnitPartId, prereqConfigId);
+                requireKnownBookUnitPart(bookUnitPartId, prereqConfigId);
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
+                log.info(
+                    "Streaming Prerequisite Report Skills for bookUnitPartId: {}, prereqConfigId: {}",
+                    bookUnitPartId,
+                    prereqConfigId
+                );
+                return fetched(
+                        timing,
+                        () -> prerequisiteReportLookup.getPrerequisiteReportSkillsAsync(bookUnitPartId, prereqConfigId)
+                    )
+                    .thenApply(
+                        prerequisiteReportSkills -> {
+                            log.info(
+                                "Streaming prerequisite report skills of size: {}",
+                                prerequisiteReportSkills.size()
+                            );
+                            return ResponseEntity
+                                .ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(reportStreamWriter.jsonArray(prerequisiteReportSkills));
+                        }
+                    );
+            }
+        );
+    }
+
+    /**
+     * This method handles the GET request to fetch the prerequisite report skills of several book unit parts at once,
+     * replacing one /prerequisite-report-skills call per book unit part.
+     * The book unit parts are given either by grade, in which case all book unit parts of the grade are used,
+     * or by an explicit list of bookUnitPartIds.
+     *
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @param grade The grade whose book unit parts are to be used, mutually exclusive with bookUnitPartIds
+     * @param bookUnitPartIds The bookUnitPartIds to be used, mutually exclusive with grade
+     * @param sessionId The session ID of the user making the request
+     * @return A future of the PrerequisiteReportSkillDTO lists keyed by bookUnitPartId, with the book unit parts that
+     *         failed listed in failedBookUnitPartIds. Only when every book unit part fails the response is 404 if
+     *         nothing was found, or 503 otherwise.
+     */
+    @GetMapping("/prerequisite-report-skills/batch")
+    @Operation(
+        summary = "Returns the Prerequisite Report Skills of several Book Unit Parts.",
+        description = "Returns the Prerequisite Report Skills grouped by bookUnitPartId, for all Book Unit Parts of a grade or for the given bookUnitPartIds."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Returned the Prerequisite Report Skills grouped by bookUnitPartId, possibly with failed book unit parts.",
+                content = @Content(schema = @Schema(implementation = PrerequisiteReportSkillsBatch.class))
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Bad Request",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "401",
+                description = "Unauthorized",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Not Found",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "500",
+                description = "Internal Server Error",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Service Unavailable",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
         }
-        // Logging the request details
-        log.info(
-            "Getting Prerequisite Report Skills for bookUnitPartId: {}, prereqConfigId: {}",
-            bookUnitPartId,
-            prereqConfigId
+    )
+    public CompletableFuture<ResponseEntity<PrerequisiteReportSkillsBatch>> getPrerequisiteReportSkillsBatch(
+        @RequestParam String prereqConfigId,
+        @RequestParam(required = false) String grade,
+        @RequestParam(required = false) List<String> bookUnitPartIds,
+        @Parameter(hidden = true) @GlobalSessionId String sessionId
+    ) {
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(SKILLS_BATCH);
+        event.grade = grade;
+        event.prereqConfigId = prereqConfigId;
+        ReportTiming timing = new ReportTiming();
+        return recorded(
+            event,
+            timing,
+            Tags.empty(),
+            () -> {
+                long validation = System.nanoTime();
+                // Exactly one of grade and bookUnitPartIds selects the book unit parts
+                boolean byGrade = grade != null;
+                boolean byIds = bookUnitPartIds != null && !bookUnitPartIds.isEmpty();
+                if (prereqConfigId.isBlank() || byGrade == byIds) {
+                    throw InvalidReportRequestException.GRADE_OR_IDS_REQUIRED;
+                }
+                if (byGrade) {
+                    ReportRequestValidator.requireGradeAndPrereqConfigId(grade, prereqConfigId);
+                } else {
+                    ReportRequestValidator.requireBookUnitPartIds(bookUnitPartIds, MAX_BATCH_BOOK_UNIT_PART_IDS);
+                }
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
+
+                CompletableFuture<PrerequisiteReportSkillsBatch> skillsByBookUnitPartId;
+                if (byGrade) {
+                    log.info(
+                        "Getting Prerequisite Report Skills for grade: {}, prereqConfigId: {}",
+                        grade,
+                        prereqConfigId
+                    );
+                    skillsByBookUnitPartId =
+                        fetched(
+                            timing,
+                            () ->
+                                prerequisiteReportLookup.getPrerequisiteReportSkillsByGradeAsync(grade, prereqConfigId)
+                        );
+                } else {
+                    log.info(
+                        "Getting Prerequisite Report Skills for bookUnitPartIds: {}, prereqConfigId: {}",
+                        bookUnitPartIds,
+                        prereqConfigId
+                    );
+                    skillsByBookUnitPartId =
+                        fetched(
+                            timing,
+                            () ->
+                                prerequisiteReportLookup.getPrerequisiteReportSkillsAsync(
+                                    bookUnitPartIds,
+                                    prereqConfigId
+                                )
+                        );
+                }
+                return skillsByBookUnitPartId.thenApply(
+                    skills -> {
+                        if (skills.isFailed()) {
+                            HttpStatus status = skills.isNotFound()
+                                ? HttpStatus.NOT_FOUND
+                                : HttpStatus.SERVICE_UNAVAILABLE;
+                            return ResponseEntity.status(status).body(skills);
+                        }
+                        log.info(
+                            "Returning prerequisite report skills for {} book unit parts, failed bookUnitPartIds: {}",
+                            skills.getSkills().size(),
+                            skills.getFailedBookUnitPartIds().keySet()
+                        );
+                        return ResponseEntity.ok(skills);
+                    }
+                );
+            }
         );
-        List<PrerequisiteReportSkillDTO> prerequisiteReportSkillDTOS =
-            prerequisiteReportUseCase.getPrereqReportSkillByUnitPartandPrereqConfig(bookUnitPartId, prereqConfigId);
-        log.info("Returning prerequisite report skills list of size: " + prerequisiteReportSkillDTOS.size());
-        return prerequisiteReportSkillDTOS;
     }
 
     /**
      * Handles the GET request to fetch Prerequisite Report Configurations based on specified criteria.
      *
      * It leverages the PrerequisiteReportUseCase to retrieve the data and returns a PrerequisiteReportConfigurationDTO
-     * object that encapsulates the configurations.
+     * object that encapsulates the configurations. Repeated requests are served from the serialized response cache.
+     * While the configurations are being refreshed, or the downstream service is unavailable, the last good
+     * configurations are returned with the X-Content-Stale: true header instead of failing the request.
      *
      * @param prerequisiteReportConfigurationsRequest A request object containing the criteria for fetching report configurations
      *        - productLine: The product line for which the report configurations are to be fetched
      *        - bookSeriesId: The ID of the book series for which the report configurations are to be fetched
      *        - showStandards: A boolean flag indicating whether to show standards in the report configurations
-     * @return ResponseEntity<PrerequisiteReportConfigurationDTO> A response entity containing the PrerequisiteReportConfigurationDTO or an error status
+     * @param bindingResult The validation result of prerequisiteReportConfigurationsRequest
+     * @param headers The request headers: Accept selects JSON, CBOR or Smile, Accept-Encoding gzip, and
+     *        If-None-Match is answered with 304 when it matches the ETag of the content
+     * @return A future of the ResponseEntity containing the serialized PrerequisiteReportConfigurationDTO or an error status
      */
-    @GetMapping("/prerequisite-report-configurations")
+    @GetMapping(
+        value = "/prerequisite-report-configurations",
+        produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE,
+            ReportResponseCache.APPLICATION_SMILE_VALUE,
+        }
+    )
     @Operation(
         summary = "Fetch Prerequisite Report Configurations from Common Content Service.",
         description = "Retrieves Prerequisite Report Configurations based on product line, book series ID, and show standards criteria."
@@ -248,6 +904,11 @@ public class PrerequisiteReportController {
                     array = @ArraySchema(schema = @Schema(implementation = PrerequisiteReportConfigurationDTO.class))
                 )
             ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Not Modified",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
             @ApiResponse(
                 responseCode = "400",
                 description = "Bad Request",
@@ -275,63 +936,388 @@ public class PrerequisiteReportController {
             ),
         }
     )
-    public ResponseEntity<PrerequisiteReportConfigurationDTO> getPrerequisiteReportConfigurations(
+    public CompletableFuture<ResponseEntity<byte[]>> getPrerequisiteReportConfigurations(
         @Valid @ModelAttribute PrerequisiteReportConfigurationsRequest prerequisiteReportConfigurationsRequest,
-        BindingResult bindingResult
-    ) {
-        // Logging the request details
-        log.info(
-            "Getting Prerequisite Report Configurations for productLine: {}, bookSeriesId: {}, showStandards: {}",
+        BindingResult bindingResult,
+        @Parameter(hidden = true) @RequestHeader HttpHeaders headers
+    ) throws HttpMediaTypeNotAcceptableException {
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(
+            PrerequisiteReportLookup.CONFIGURATIONS
+        );
+        event.productLine = prerequisiteReportConfigurationsRequest.getProductLine();
+        ReportTiming timing = new ReportTiming();
+        Tags dimensions = reportMetrics.configurationTags(
             prerequisiteReportConfigurationsRequest.getProductLine(),
-            prerequisiteReportConfigurationsRequest.getBookSeriesId(),
             prerequisiteReportConfigurationsRequest.isShowStandards()
         );
+        // Negotiated before the try block so an unacceptable Accept header stays a 406
+        MediaType mediaType = negotiate(event, timing, dimensions, headers);
+        return recorded(
+            event,
+            timing,
+            dimensions,
+            () -> {
+                long validation = System.nanoTime();
+                // Logging the request details
+                log.info(
+                    "Getting Prerequisite Report Configurations for productLine: {}, bookSeriesId: {}, showStandards: {}",
+                    prerequisiteReportConfigurationsRequest.getProductLine(),
+                    prerequisiteReportConfigurationsRequest.getBookSeriesId(),
+                    prerequisiteReportConfigurationsRequest.isShowStandards()
+                );
 
-        try {
-            // Verify if any error in API input param
-            if (bindingResult.hasErrors()) {
-                // Construct an error response based on bindingResult
-                String errorResponse = constructErrorResponse(bindingResult);
-                throw new InvalidRequestException(errorResponse);
+                // Verify if any error in API input param
+                boolean invalid = bindingResult.hasErrors();
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
+                if (invalid) {
+                    // Answered right away instead of throwing an InvalidRequestException only to catch it again below
+                    logInvalidConfigurationsRequest(constructErrorResponse(bindingResult));
+                    return CompletableFuture.completedFuture(new ResponseEntity<>(null, null, HttpStatus.BAD_REQUEST));
+                }
+
+                try {
+                    // Get Prerequisite Report Configurations based on productLine, bookSeriesId and showStandards
+                    return reportResponseCache
+                        .get(
+                            ReportKey.of(
+                                PrerequisiteReportLookup.CONFIGURATIONS,
+                                prerequisiteReportConfigurationsRequest.getProductLine(),
+                                prerequisiteReportConfigurationsRequest.getBookSeriesId(),
+                                prerequisiteReportConfigurationsRequest.isShowStandards()
+                            ),
+                            mediaType,
+                            timing,
+                            () ->
+                                prerequisiteReportLookup.getPrerequisiteReportConfigurationsAsync(
+                                    prerequisiteReportConfigurationsRequest
+                                )
+                        )
+                        .handle(
+                            (prerequisiteReportConfigurations, e) -> {
+                                if (e != null) {
+                                    return configurationsErrorResponse(Futures.unwrap(e));
+                                }
+                                // Returning the serialized PrerequisiteReportConfigurationDTO which includes Prerequisite Report Configurations and PrerequisiteReportDetailedConfiguration
+                                return reportResponseCache.toResponse(
+                                    prerequisiteReportConfigurations,
+                                    headers,
+                                    timing
+                                );
+                            }
+                        );
+                } catch (Exception e) {
+                    return CompletableFuture.completedFuture(configurationsErrorResponse(e));
+                }
             }
+        );
+    }
+
+    /**
+     * Handles the GET request to fetch everything needed to render the prerequisite report in a single call:
+     * the Prerequisite Report Configurations, the book unit parts of the grade and the skills of those book unit parts.
+     *
+     * The configurations and book unit parts are fetched concurrently and the skills as soon as the book unit parts
+     * arrive. Sections that fail are left empty and listed in failedSections while the rest is still returned with
+     * 200. Only when every section fails the response is 404 if nothing was found, or 503 otherwise.
+     *
+     * @param prerequisiteReportConfigurationsRequest The productLine, bookSeriesId and showStandards of the report
+     * @param bindingResult The validation result of prerequisiteReportConfigurationsRequest
+     * @param grade The grade for which the book unit parts are to be fetched
+     * @param prereqConfigId The prereqConfigId used to fetch the book unit parts and their skills
+     * @param sessionId The session ID of the user making the request
+     * @return A future of the ResponseEntity<PrerequisiteReportBootstrapResponse> containing the aggregated report content
+     */
+    @GetMapping("/prerequisite-report-bootstrap")
+    @Operation(
+        summary = "Fetch all content of the Prerequisite Report in one call.",
+        description = "Retrieves Prerequisite Report Configurations, Book Unit Parts and Prerequisite Report Skills concurrently and returns them aggregated, listing failed sections."
+    )
+    @ApiResponses(
+        value = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Returned the Prerequisite Report content, possibly with failed sections.",
+                content = @Content(schema = @Schema(implementation = PrerequisiteReportBootstrapResponse.class))
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Bad Request",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "401",
+                description = "Unauthorized",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Forbidden",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Not Found",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "500",
+                description = "Internal Server Error",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Service Unavailable",
+                content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+            ),
+        }
+    )
+    public CompletableFuture<ResponseEntity<PrerequisiteReportBootstrapResponse>> getPrerequisiteReportBootstrap(
+        @Valid @ModelAttribute PrerequisiteReportConfigurationsRequest prerequisiteReportConfigurationsRequest,
+        BindingResult bindingResult,
+        @RequestParam String grade,
+        @RequestParam String prereqConfigId,
+        @Parameter(hidden = true) @GlobalSessionId String sessionId
+    ) {
+        PrerequisiteReportRequestEvent event = new PrerequisiteReportRequestEvent(BOOTSTRAP);
+        event.grade = grade;
+        event.prereqConfigId = prereqConfigId;
+        event.productLine = prerequisiteReportConfigurationsRequest.getProductLine();
+        ReportTiming timing = new ReportTiming();
+        return recorded(
+            event,
+            timing,
+            reportMetrics.gradeTags(grade),
+            () -> {
+                long validation = System.nanoTime();
+                if (bindingResult.hasErrors()) {
+                    throw new InvalidReportRequestException(constructErrorResponse(bindingResult));
+                }
+                ReportRequestValidator.requireGradeAndPrereqConfigId(grade, prereqConfigId);
+                timing.record(ReportTiming.Phase.VALIDATE, validation);
 
-            // Get Prerequisite Report Configurations based on productLine, bookSeriesId and showStandards
-            PrerequisiteReportConfigurationDTO prerequisiteReportConfigurationDTO =
-                prerequisiteReportUseCase.getPrerequisiteReportConfigurationsByProductLineBookSeriesIdAndShowStandards(
+                // Logging the request details
+                log.info(
+                    "Getting Prerequisite Report bootstrap for productLine: {}, bookSeriesId: {}, showStandards: {}, grade: {}, prereqConfigId: {}",
                     prerequisiteReportConfigurationsRequest.getProductLine(),
                     prerequisiteReportConfigurationsRequest.getBookSeriesId(),
-                    prerequisiteReportConfigurationsRequest.isShowStandards()
+                    prerequisiteReportConfigurationsRequest.isShowStandards(),
+                    grade,
+                    prereqConfigId
                 );
 
-            //log.info("Returning PrerequisiteReportConfigurationDTO : " + prerequisiteReportConfigurationDTO.toString());
-            HttpHeaders headers = new HttpHeaders();
-            // Returning the fetched PrerequisiteReportConfigurationDTO which includes Prerequisite Report Configurations and PrerequisiteReportDetailedConfiguration
-            return new ResponseEntity<>(prerequisiteReportConfigurationDTO, headers, HttpStatus.OK);
-        } catch (InvalidRequestException e) {
-            log.error("Invalid input/s to Prerequisite Report Configurations API: ", e);
+                return fetched(
+                        timing,
+                        () ->
+                            prerequisiteReportLookup.getPrerequisiteReportBootstrapAsync(
+                                prerequisiteReportConfigurationsRequest,
+                                grade,
+                                prereqConfigId
+                            )
+                    )
+                    .thenApply(
+                        bootstrapResponse -> {
+                            if (bootstrapResponse.isFailed()) {
+                                HttpStatus status = bootstrapResponse.isNotFound()
+                                    ? HttpStatus.NOT_FOUND
+                                    : HttpStatus.SERVICE_UNAVAILABLE;
+                                return ResponseEntity.status(status).body(bootstrapResponse);
+                            }
+                            log.info(
+                                "Returning Prerequisite Report bootstrap with failed sections: {}",
+                                bootstrapResponse.getFailedSections()
+                            );
+                            if (bootstrapResponse.isConfigurationsStale()) {
+                                return ResponseEntity
+                                    .ok()
+                                    .header(ReportResponseCache.STALE_HEADER, "true")
+                                    .body(bootstrapResponse);
+                            }
+                            return ResponseEntity.ok(bootstrapResponse);
+                        }
+                    );
+            }
+        );
+    }
+
+    /**
+     * Runs the handler and publishes the metrics and the Flight Recorder event of the request once its response is
+     * known, for every outcome: a request rejected by validation or failing with an exception is recorded with the
+     * status the exception handlers answer it with, and with the phases it went through until then.
+     */
+    private <T> CompletableFuture<T> recorded(
+        PrerequisiteReportRequestEvent event,
+        ReportTiming timing,
+        Tags dimensions,
+        Supplier<CompletableFuture<T>> handler
+    ) {
+        event.begin();
+        long start = System.nanoTime();
+        CompletableFuture<T> response;
+        try {
+            response = handler.get();
+        } catch (RuntimeException e) {
+            // Thrown before the handler got past its validation
+            if (!timing.isRecorded(ReportTiming.Phase.VALIDATE)) {
+                timing.record(ReportTiming.Phase.VALIDATE, start);
+            }
+            complete(event, timing, dimensions, statusOf(e), null);
+            throw e;
+        }
+        return response.whenComplete(
+            (result, e) -> {
+                if (e != null) {
+                    complete(event, timing, dimensions, statusOf(Futures.unwrap(e)), null);
+                } else {
+                    complete(event, timing, dimensions, responseStatus(result), result);
+                }
+            }
+        );
+    }
+
+    /**
+     * Picks the media type of a handler serving negotiated responses, before it is {@link #recorded}. A request
+     * accepting none of them is recorded as answered with 406.
+     */
+    private MediaType negotiate(
+        PrerequisiteReportRequestEvent event,
+        ReportTiming timing,
+        Tags dimensions,
+        HttpHeaders headers
+    ) throws HttpMediaTypeNotAcceptableException {
+        long start = System.nanoTime();
+        try {
+            return reportResponseCache.negotiate(headers);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            event.begin();
+            timing.record(ReportTiming.Phase.VALIDATE, start);
+            complete(event, timing, dimensions, HttpStatus.NOT_ACCEPTABLE.value(), null);
+            throw e;
+        }
+    }
+
+    // Records the outcome of a request, the response is null if the request failed with an exception
+    private void complete(
+        PrerequisiteReportRequestEvent event,
+        ReportTiming timing,
+        Tags dimensions,
+        int status,
+        Object response
+    ) {
+        long responseBytes = response == null ? -1 : bodySize(response);
+        reportMetrics.record(event.endpoint, timing, dimensions, status, responseBytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.status = status;
+            event.responseBytes = Math.max(0, responseBytes);
+            event.cacheOutcome = cacheOutcome(timing, response);
+            event.commit();
+        }
+    }
+
+    // Null if the request was not looked up in the response cache
+    private static String cacheOutcome(ReportTiming timing, Object response) {
+        if (
+            response instanceof ResponseEntity &&
+            ((ResponseEntity<?>) response).getHeaders().containsKey(ReportResponseCache.STALE_HEADER)
+        ) {
+            return "stale";
+        }
+        if (!timing.isRecorded(ReportTiming.Phase.CACHE)) {
+            return null;
+        }
+        return timing.isRecorded(ReportTiming.Phase.FETCH) ? "miss" : "hit";
+    }
+
+    // Records the FETCH phase of a lookup that is not served through the response cache
+    private static <V> CompletableFuture<V> fetched(ReportTiming timing, Supplier<CompletableFuture<V>> lookup) {
+        long start = System.nanoTime();
+        return lookup.get().whenComplete((result, e) -> timing.record(ReportTiming.Phase.FETCH, start));
+    }
+
+    // The status the exception handlers of this controller, or Spring MVC, answer the exception with
+    private static int statusOf(Throwable e) {
+        if (e instanceof InvalidRequestException) {
+            return HttpStatus.BAD_REQUEST.value();
+        }
+        if (e instanceof DataNotFoundException) {
+            return HttpStatus.NOT_FOUND.value();
+        }
+        if (e instanceof RejectedExecutionException) {
+            return HttpStatus.SERVICE_UNAVAILABLE.value();
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private static int responseStatus(Object response) {
+        return response instanceof ResponseEntity
+            ? ((ResponseEntity<?>) response).getStatusCodeValue()
+            : HttpStatus.OK.value();
+    }
+
+    // The size of a buffered response body, -1 if the body is streamed or not known before it is written
+    private static long bodySize(Object response) {
+        if (response instanceof ResponseEntity) {
+            Object body = ((ResponseEntity<?>) response).getBody();
+            if (body == null) {
+                return 0;
+            }
+            if (body instanceof byte[]) {
+                return ((byte[]) body).length;
+            }
+        }
+        return -1;
+    }
+
+    // Answers ids the known bookUnitPartIds filter rules out with 404 without calling the use case
+    private void requireKnownBookUnitPart(String bookUnitPartId, String prereqConfigId) {
+        if (!knownBookUnitParts.mightExist(bookUnitPartId, prereqConfigId)) {
+            throw new ReportNotFoundException("Unknown bookUnitPartId: " + bookUnitPartId);
+        }
+    }
+
+    private static ResponseEntity<byte[]> configurationsErrorResponse(Throwable e) {
+        if (e instanceof InvalidRequestException) {
+            logInvalidConfigurationsRequest(e.getMessage());
             return new ResponseEntity<>(null, null, HttpStatus.BAD_REQUEST);
-        } catch (Exception e) {
-            log.error("Service call error on get Prerequisite Report Configurations: ", e);
+        }
+        if (e instanceof CircuitBreaker.OpenException) {
+            if (CIRCUIT_OPEN_LOG.tryAcquire()) {
+                log.warn(
+                    "Rejected Prerequisite Report Configurations call: {} ({} similar messages suppressed)",
+                    e.getMessage(),
+                    CIRCUIT_OPEN_LOG.drainSuppressed()
+                );
+            }
             return new ResponseEntity<>(null, null, HttpStatus.SERVICE_UNAVAILABLE);
         }
+        log.error("Service call error on get Prerequisite Report Configurations: ", e);
+        return new ResponseEntity<>(null, null, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
-    private boolean isGivenGradeValid(String grade) {
-        return Arrays
-            .stream(GradeLevelEnum.values())
-            .anyMatch(gradeValue -> gradeValue.getAuthoringAbbreviation().equals(grade));
+    private static void logInvalidConfigurationsRequest(String message) {
+        if (INVALID_REQUEST_LOG.tryAcquire()) {
+            log.error(
+                "Invalid input/s to Prerequisite Report Configurations API: {} ({} similar messages suppressed)",
+                message,
+                INVALID_REQUEST_LOG.drainSuppressed()
+            );
+        }
     }
 
     public static String constructErrorResponse(BindingResult bindingResult) {
-        // Stream through errors, log them, and collect into a concatenated string
-        String concatenatedErrorMessages = bindingResult
-            .getAllErrors()
-            .stream()
-            .map(ObjectError::getDefaultMessage)
-            //                .peek(message -> log.error("Validation error: {}", message)) // Log each error message
-            .collect(Collectors.joining("; "));
-
-        return concatenatedErrorMessages;
+        // Concatenate the error messages, without an intermediate stream for the usual single error
+        List<ObjectError> errors = bindingResult.getAllErrors();
+        if (errors.size() == 1) {
+            return String.valueOf(errors.get(0).getDefaultMessage());
+        }
+        StringBuilder concatenatedErrorMessages = new StringBuilder();
+        for (ObjectError error : errors) {
+            if (concatenatedErrorMessages.length() > 0) {
+                concatenatedErrorMessages.append("; ");
+            }
+            concatenatedErrorMessages.append(error.getDefaultMessage());
+        }
+        return concatenatedErrorMessages.toString();
     }
 
     @ExceptionHandler(InvalidRequestException.class)
@@ -340,11 +1326,17 @@ public class PrerequisiteReportController {
         InvalidRequestException ex,
         HttpServletRequest request
     ) {
-        log.error("InvalidRequestException occurred: {}", ex.getMessage());
+        if (INVALID_REQUEST_LOG.tryAcquire()) {
+            log.error(
+                "InvalidRequestException occurred: {} ({} similar messages suppressed)",
+                ex.getMessage(),
+                INVALID_REQUEST_LOG.drainSuppressed()
+            );
+        }
         CustomErrorResponse errorResponse = CustomErrorResponse
             .builder()
             .errorMessage("Bad request")
-            .timestamp(LocalDateTime.now())
+            .timestamp(CoarseClock.now())
             .status(HttpStatus.BAD_REQUEST.value())
             .path(request.getRequestURI())
             .build();
@@ -357,14 +1349,37 @@ public class PrerequisiteReportController {
         DataNotFoundException ex,
         HttpServletRequest request
     ) {
-        log.error("DataNotFoundException occurred: {}", ex.getMessage());
+        if (NOT_FOUND_LOG.tryAcquire()) {
+            log.error(
+                "DataNotFoundException occurred: {} ({} similar messages suppressed)",
+                ex.getMessage(),
+                NOT_FOUND_LOG.drainSuppressed()
+            );
+        }
         CustomErrorResponse errorResponse = CustomErrorResponse
             .builder()
             .errorMessage("Not Found")
-            .timestamp(LocalDateTime.now())
+            .timestamp(CoarseClock.now())
             .status(HttpStatus.NOT_FOUND.value())
             .path(request.getRequestURI())
             .build();
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<CustomErrorResponse> handleRejectedExecutionException(
+        RejectedExecutionException ex,
+        HttpServletRequest request
+    ) {
+        log.error("Prerequisite report executor is saturated, rejecting request: {}", ex.getMessage());
+        CustomErrorResponse errorResponse = CustomErrorResponse
+            .builder()
+            .errorMessage("Service Unavailable")
+            .timestamp(CoarseClock.now())
+            .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+            .path(request.getRequestURI())
+            .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
 }
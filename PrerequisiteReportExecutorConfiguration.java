@@ -0,0 +1,114 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+/**
+ * Provides the dedicated executor the prerequisite report web adapter runs its use case calls on,
+ * which keeps servlet request threads free while the use case is slow.
+ *
+ * prerequisite-report.executor.mode selects between a bounded pool of platform threads (PLATFORM, the default)
+ * and one virtual thread per task (VIRTUAL, Java 21 or later), where thousands of concurrent, I/O-bound report
+ * requests only cost a handful of carrier threads.
+ */
+@Configuration
+@Slf4j
+public class PrerequisiteReportExecutorConfiguration {
+
+    public static final String PREREQUISITE_REPORT_EXECUTOR = "prerequisiteReportExecutor";
+
+    // Read by the JDK once, when the first virtual thread is created; removed in Java 24 (JEP 491)
+    private static final String TRACE_PINNED_THREADS = "jdk.tracePinnedThreads";
+    private static final int TRACE_PINNED_THREADS_REMOVED_IN = 24;
+
+    public enum ExecutorMode {
+        PLATFORM,
+        VIRTUAL,
+    }
+
+    /**
+     * In PLATFORM mode a fixed size pool with a bounded queue. When both are full new tasks are rejected with a
+     * RejectedExecutionException, which the controller answers with 503, rather than running on the request thread.
+     * In VIRTUAL mode tasks are never queued or rejected; concurrency is then bounded by the downstream clients only.
+     * Executor usage is published as the executor metrics tagged name=prerequisiteReport.
+     *
+     * In both modes tasks run with the SecurityContext and MDC of the submitting request thread, so the use case
+     * calls log with the request's correlation ids and downstream clients can read the caller's JWT. The request
+     * itself is not available to tasks, since Spring MVC completes it once an async handler returns.
+     */
+    @Bean(name = PREREQUISITE_REPORT_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService prerequisiteReportExecutor(
+        MeterRegistry meterRegistry,
+        @Value("${prerequisite-report.executor.mode:platform}") ExecutorMode mode,
+        @Value("${prerequisite-report.executor.pool-size:16}") int poolSize,
+        @Value("${prerequisite-report.executor.queue-capacity:500}") int queueCapacity,
+        @Value("${prerequisite-report.executor.trace-pinning:false}") boolean tracePinning
+    ) {
+        ExecutorService executor = mode == ExecutorMode.VIRTUAL
+            ? virtualThreadExecutor(tracePinning)
+            : platformThreadExecutor(poolSize, queueCapacity);
+        log.info("Running prerequisite report use case calls on {} threads", mode);
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(
+            meterRegistry,
+            executor,
+            "prerequisiteReport",
+            Tags.empty()
+        );
+        return new DelegatingSecurityContextExecutorService(new MdcExecutorService(monitored));
+    }
+
+    private static ExecutorService platformThreadExecutor(int poolSize, int queueCapacity) {
+        return new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("prerequisite-report-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Creates a virtual thread per task executor. It is looked up reflectively so the adapter still compiles for
+     * and runs on Java versions without virtual threads as long as the mode stays PLATFORM.
+     *
+     * With tracePinning the JDK prints the stack of every virtual thread that blocks while pinned to its carrier,
+     * e.g. inside a synchronized block or a native frame of a use case adapter, so such call sites can be found
+     * before they starve the carrier pool. The adapter's own caches use ReentrantLock for that reason.
+     *
+     * Java 24 removed jdk.tracePinnedThreads, and synchronized no longer pins there. On Java 24 and later pinning is
+     * only diagnosed by the Flight Recorder event jdk.VirtualThreadPinned, which is enabled in the default profile
+     * for pins of 20 ms or more, so tracePinning only logs that hint.
+     */
+    private static ExecutorService virtualThreadExecutor(boolean tracePinning) {
+        if (tracePinning) {
+            if (Runtime.version().feature() >= TRACE_PINNED_THREADS_REMOVED_IN) {
+                log.info(
+                    "{} is not supported on Java {}, record the jdk.VirtualThreadPinned Flight Recorder event to diagnose pinning",
+                    TRACE_PINNED_THREADS,
+                    Runtime.version().feature()
+                );
+            } else if (System.getProperty(TRACE_PINNED_THREADS) == null) {
+                System.setProperty(TRACE_PINNED_THREADS, "short");
+            }
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("prerequisite-report.executor.mode=virtual requires Java 21 or later", e);
+        }
+    }
+}
@@ -0,0 +1,649 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.adapters.web.in.request.prerequisitereport.PrerequisiteReportConfigurationsRequest;
+import com.cainc.commoncontent.adapters.web.in.response.prerequisitereport.PrerequisiteReportBootstrapResponse;
+import com.cainc.commoncontent.adapters.web.in.response.prerequisitereport.PrerequisiteReportSkillsBatch;
+import com.cainc.commoncontent.adapters.web.in.response.prerequisitereport.PrerequisiteReportSkillsPage;
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.BookUnitPartDTO;
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportConfigurationDTO;
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportSkillDTO;
+import com.cainc.commoncontent.core.ports.in.PrerequisiteReportUseCase;
+import com.cainc.commoncontent.support.exception.DataNotFoundException;
+import com.cainc.commoncontent.support.exception.InvalidRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fronts the PrerequisiteReportUseCase for the prerequisite report web adapter.
+ * Concurrent identical calls are coalesced into one use case invocation, and book unit parts, which only change
+ * when content is republished, are additionally served from a bounded in-process cache. Lookups that ended in a
+ * DataNotFoundException are answered from a short-lived negative cache, sized and measured separately.
+ * The async variants run on the dedicated prerequisite report executor so that request threads are not blocked.
+ */
+@Component
+@Slf4j
+public class PrerequisiteReportLookup {
+
+    static final String BOOK_UNIT_PARTS = "book-unit-parts";
+    static final String SKILLS = "prerequisite-report-skills";
+    static final String CONFIGURATIONS = "prerequisite-report-configurations";
+
+    // Every bootstrap is rejected while the configurations breaker is open, so that is logged at most once per second
+    private static final RateLimitedLog CIRCUIT_OPEN_LOG = new RateLimitedLog(1, Duration.ofSeconds(1));
+
+    private final PrerequisiteReportUseCase prerequisiteReportUseCase;
+    private final ReportCache<ReportKey, List<BookUnitPartDTO>> bookUnitPartsCache;
+    private final SingleFlight<ReportKey, List<BookUnitPartDTO>> bookUnitPartsFlight;
+    private final SingleFlight<ReportKey, List<PrerequisiteReportSkillDTO>> skillsFlight;
+    // Sorted snapshots of the skills of a book unit part, so all pages of a cursor walk come from one use case call
+    private final ReportCache<ReportKey, List<PrerequisiteReportSkillDTO>> skillPagesCache;
+    private final SkillOrdering skillOrdering;
+    private final SingleFlight<ReportKey, PrerequisiteReportConfigurationDTO> configurationsFlight;
+    // Last good configurations, kept for the stale period but only fresh for configurationsFreshNanos
+    private final ReportCache<ReportKey, Loaded<PrerequisiteReportConfigurationDTO>> configurationsCache;
+    private final long configurationsFreshNanos;
+    private final Set<ReportKey> refreshingConfigurations = ConcurrentHashMap.newKeySet();
+    private final CircuitBreaker configurationsBreaker;
+    // Messages of recent DataNotFoundExceptions, so known missing content is not looked up again until they expire
+    private final ReportCache<ReportKey, String> notFoundCache;
+    private final ReportResponseCache reportResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor;
+    private final int batchMaxConcurrency;
+
+    public PrerequisiteReportLookup(
+        PrerequisiteReportUseCase prerequisiteReportUseCase,
+        ReportResponseCache reportResponseCache,
+        SkillOrdering skillOrdering,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry,
+        @Qualifier(PrerequisiteReportExecutorConfiguration.PREREQUISITE_REPORT_EXECUTOR) ExecutorService executor,
+        @Value("${prerequisite-report.cache.book-unit-parts.max-weight:50000}") long bookUnitPartsMaxWeight,
+        @Value("${prerequisite-report.cache.book-unit-parts.ttl:10m}") Duration bookUnitPartsTtl,
+        @Value("${prerequisite-report.batch.max-concurrency:8}") int batchMaxConcurrency,
+        @Value("${prerequisite-report.cache.skill-pages.max-weight:50000}") long skillPagesMaxWeight,
+        @Value("${prerequisite-report.cache.skill-pages.ttl:5m}") Duration skillPagesTtl,
+        @Value("${prerequisite-report.cache.configurations.max-size:10000}") long configurationsMaxSize,
+        @Value("${prerequisite-report.cache.configurations.fresh-for:5m}") Duration configurationsFreshFor,
+        @Value("${prerequisite-report.cache.configurations.stale-for:24h}") Duration configurationsStaleFor,
+        @Value("${prerequisite-report.circuit-breaker.failure-threshold:5}") int breakerFailureThreshold,
+        @Value("${prerequisite-report.circuit-breaker.open-duration:30s}") Duration breakerOpenDuration,
+        @Value("${prerequisite-report.cache.not-found.max-size:10000}") long notFoundMaxSize,
+        @Value("${prerequisite-report.cache.not-found.ttl:1m}") Duration notFoundTtl
+    ) {
+        this.prerequisiteReportUseCase = prerequisiteReportUseCase;
+        this.reportResponseCache = reportResponseCache;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.batchMaxConcurrency = batchMaxConcurrency;
+        // Weighed by the number of DTOs so that a few large grades cannot push out many small ones unnoticed
+        this.bookUnitPartsCache =
+            new ReportCache<>(
+                BOOK_UNIT_PARTS,
+                bookUnitPartsMaxWeight,
+                bookUnitPartsTtl,
+                bookUnitParts -> bookUnitParts.size() + 1L,
+                meterRegistry
+            );
+        this.bookUnitPartsFlight = new SingleFlight<>(BOOK_UNIT_PARTS, meterRegistry);
+        this.skillsFlight = new SingleFlight<>(SKILLS, meterRegistry);
+        this.skillPagesCache =
+            new ReportCache<>(
+                "skill-pages",
+                skillPagesMaxWeight,
+                skillPagesTtl,
+                skills -> skills.size() + 1L,
+                meterRegistry
+            );
+        this.skillOrdering = skillOrdering;
+        this.configurationsFlight = new SingleFlight<>(CONFIGURATIONS, meterRegistry);
+        this.configurationsCache =
+            new ReportCache<>(
+                CONFIGURATIONS,
+                configurationsMaxSize,
+                configurationsStaleFor,
+                configurations -> 1L,
+                meterRegistry
+            );
+        this.configurationsFreshNanos = configurationsFreshFor.toNanos();
+        // Missing content is an answer, not a failure of the downstream service
+        this.configurationsBreaker =
+            new CircuitBreaker(
+                CONFIGURATIONS,
+                breakerFailureThreshold,
+                breakerOpenDuration,
+                e -> !(e instanceof DataNotFoundException || e instanceof InvalidRequestException),
+                meterRegistry
+            );
+        this.notFoundCache =
+            new ReportCache<>("not-found", notFoundMaxSize, notFoundTtl, message -> 1L, meterRegistry);
+    }
+
+    /**
+     * Returns the book unit parts for the given grade and prereqConfigId, loading them through the use case on a cache miss.
+     *
+     * @param grade The grade for which the book unit parts are to be fetched
+     * @param prereqConfigId The prereqConfigId used to resolve the book series
+     * @return A list of BookUnitPartDTO object.
+     */
+    public List<BookUnitPartDTO> getBookUnitParts(String grade, String prereqConfigId) {
+        ReportKey key = ReportKey.of(BOOK_UNIT_PARTS, grade, prereqConfigId);
+        List<BookUnitPartDTO> cached = bookUnitPartsCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Concurrent misses are coalesced here rather than by the cache, so they are counted as collapsed calls
+        return unlessNotFound(
+            key,
+            () ->
+                bookUnitPartsFlight.execute(
+                    key,
+                    () -> {
+                        // Parts loaded while they were evicted may predate the republish, so they are not cached
+                        long generation = bookUnitPartsCache.generation();
+                        List<BookUnitPartDTO> bookUnitParts = loadBookUnitParts(grade, prereqConfigId);
+                        bookUnitPartsCache.putIfGeneration(key, bookUnitParts, generation);
+                        return bookUnitParts;
+                    }
+                )
+        );
+    }
+
+    /**
+     * Loads the book unit parts for the given grade and prereqConfigId directly through the use case, bypassing the
+     * caches, for data derived from them that must not miss newly published book unit parts.
+     *
+     * @param grade The grade for which the book unit parts are to be fetched
+     * @param prereqConfigId The prereqConfigId used to resolve the book series
+     * @return A list of BookUnitPartDTO object.
+     */
+    public List<BookUnitPartDTO> fetchBookUnitParts(String grade, String prereqConfigId) {
+        return loadBookUnitParts(grade, prereqConfigId);
+    }
+
+    /**
+     * Returns the prerequisite report skills for the given bookUnitPartId and prereqConfigId.
+     *
+     * @param bookUnitPartId The bookUnitPartId for which the prerequisite skills are to be fetched
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @return A list of PrerequisiteReportSkillDTO object.
+     */
+    public List<PrerequisiteReportSkillDTO> getPrerequisiteReportSkills(String bookUnitPartId, String prereqConfigId) {
+        ReportKey key = ReportKey.of(SKILLS, bookUnitPartId, prereqConfigId);
+        return unlessNotFound(
+            key,
+            () -> skillsFlight.execute(key, () -> loadPrerequisiteReportSkills(bookUnitPartId, prereqConfigId))
+        );
+    }
+
+    /**
+     * Fetches the book unit parts for the given grade and prereqConfigId on the prerequisite report executor.
+     *
+     * @param grade The grade for which the book unit parts are to be fetched
+     * @param prereqConfigId The prereqConfigId used to resolve the book series
+     * @return A future of the list of BookUnitPartDTO object.
+     */
+    public CompletableFuture<List<BookUnitPartDTO>> getBookUnitPartsAsync(String grade, String prereqConfigId) {
+        return CompletableFuture.supplyAsync(() -> getBookUnitParts(grade, prereqConfigId), executor);
+    }
+
+    /**
+     * Fetches the prerequisite report skills for the given bookUnitPartId and prereqConfigId on the prerequisite report executor.
+     *
+     * @param bookUnitPartId The bookUnitPartId for which the prerequisite skills are to be fetched
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @return A future of the list of PrerequisiteReportSkillDTO object.
+     */
+    public CompletableFuture<List<PrerequisiteReportSkillDTO>> getPrerequisiteReportSkillsAsync(
+        String bookUnitPartId,
+        String prereqConfigId
+    ) {
+        return CompletableFuture.supplyAsync(() -> getPrerequisiteReportSkills(bookUnitPartId, prereqConfigId), executor);
+    }
+
+    /**
+     * Fetches one page of the prerequisite report skills for the given bookUnitPartId and prereqConfigId.
+     * The skills are fetched once, sorted by {@link SkillOrdering} and kept in the skill pages cache, from which
+     * following pages are sliced without calling the use case again. A page starts after the sort key in its cursor,
+     * so a walk neither skips nor repeats skills when the cached skills expired or changed in between.
+     *
+     * @param bookUnitPartId The bookUnitPartId for which the prerequisite skills are to be fetched
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @param cursor The cursor of the page, null for the first page
+     * @param limit The maximum number of skills of the page
+     * @return A future of the page, with the cursor of the next page unless it is the last one
+     */
+    public CompletableFuture<PrerequisiteReportSkillsPage> getPrerequisiteReportSkillsPageAsync(
+        String bookUnitPartId,
+        String prereqConfigId,
+        String cursor,
+        int limit
+    ) {
+        ReportKey key = ReportKey.of(SKILLS, bookUnitPartId, prereqConfigId);
+        ReportCursor position = ReportCursor.decode(key, cursor);
+        Object after = position == null ? null : skillOrdering.decodeKey(position.getSortKey());
+        return CompletableFuture
+            .supplyAsync(
+                () ->
+                    skillPagesCache.get(
+                        key,
+                        k -> skillOrdering.sort(getPrerequisiteReportSkills(bookUnitPartId, prereqConfigId))
+                    ),
+                executor
+            )
+            .thenApply(
+                skills -> {
+                    int from = position == null ? 0 : skillOrdering.indexAfter(skills, after, position.getSkip());
+                    int to = (int) Math.min((long) from + limit, skills.size());
+                    String nextCursor = null;
+                    if (to < skills.size()) {
+                        nextCursor =
+                            ReportCursor.encode(
+                                key,
+                                skillOrdering.encodeKey(skills.get(to - 1)),
+                                skillOrdering.countWithLastKey(skills, to)
+                            );
+                    }
+                    return PrerequisiteReportSkillsPage
+                        .builder()
+                        .skills(new ArrayList<>(skills.subList(from, to)))
+                        .nextCursor(nextCursor)
+                        .build();
+                }
+            );
+    }
+
+    /**
+     * Returns the prerequisite report configurations for the request, stale-while-revalidate.
+     * Fresh configurations are returned right away. Configurations past their fresh period are returned as stale
+     * while a refresh runs in the background, so a downstream outage only delays updates for the stale period.
+     * Without any last good configurations they are fetched on the prerequisite report executor.
+     *
+     * @param request The validated configurations request
+     * @return A future of the PrerequisiteReportConfigurationDTO, marked stale if it is the last good one and
+     *         otherwise carrying how much longer it stays fresh, which bounds how long its response may be cached
+     */
+    public CompletableFuture<ReportResult<PrerequisiteReportConfigurationDTO>> getPrerequisiteReportConfigurationsAsync(
+        PrerequisiteReportConfigurationsRequest request
+    ) {
+        ReportKey key = configurationsKey(request);
+        Loaded<PrerequisiteReportConfigurationDTO> lastGood = configurationsCache.getIfPresent(key);
+        if (lastGood != null) {
+            long freshNanos = configurationsFreshNanos - (System.nanoTime() - lastGood.loadedAt);
+            if (freshNanos > 0) {
+                return CompletableFuture.completedFuture(
+                    ReportResult.fresh(lastGood.value, Duration.ofNanos(freshNanos))
+                );
+            }
+            refreshConfigurations(key, request);
+            return CompletableFuture.completedFuture(ReportResult.stale(lastGood.value));
+        }
+        return CompletableFuture.supplyAsync(
+            () ->
+                ReportResult.fresh(
+                    getPrerequisiteReportConfigurations(request),
+                    Duration.ofNanos(configurationsFreshNanos)
+                ),
+            executor
+        );
+    }
+
+    /**
+     * Fetches the prerequisite report skills of every book unit part of the given grade, grouped by bookUnitPartId.
+     *
+     * @param grade The grade whose book unit parts are to be looked up
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @return A future of the skills of each book unit part, in the order of the book unit parts
+     */
+    public CompletableFuture<PrerequisiteReportSkillsBatch> getPrerequisiteReportSkillsByGradeAsync(
+        String grade,
+        String prereqConfigId
+    ) {
+        return getBookUnitPartsAsync(grade, prereqConfigId)
+            .thenCompose(parts -> getPrerequisiteReportSkillsAsync(bookUnitPartIds(parts), prereqConfigId));
+    }
+
+    /**
+     * Fetches the prerequisite report skills of the given book unit parts on the prerequisite report executor.
+     * The ids are split into at most batchMaxConcurrency lanes that each look up their ids one after another,
+     * so a single batch never occupies more executor threads than that and no thread waits on another.
+     * A failing lookup does not fail the batch: its bookUnitPartId is reported in failedBookUnitPartIds instead.
+     *
+     * @param bookUnitPartIds The bookUnitPartIds for which the prerequisite skills are to be fetched
+     * @param prereqConfigId The prereqConfigId for which the prerequisite skills are to be fetched
+     * @return A future of the skills of each book unit part, in the order of the given ids
+     */
+    public CompletableFuture<PrerequisiteReportSkillsBatch> getPrerequisiteReportSkillsAsync(
+        List<String> bookUnitPartIds,
+        String prereqConfigId
+    ) {
+        List<String> distinctIds = bookUnitPartIds.stream().distinct().collect(Collectors.toList());
+        AtomicReferenceArray<List<PrerequisiteReportSkillDTO>> skills = new AtomicReferenceArray<>(distinctIds.size());
+        AtomicReferenceArray<String> failures = new AtomicReferenceArray<>(distinctIds.size());
+        int lanes = Math.min(batchMaxConcurrency, distinctIds.size());
+        CompletableFuture<?>[] laneLookups = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            int firstIndex = lane;
+            laneLookups[lane] =
+                CompletableFuture.runAsync(
+                    () -> {
+                        for (int index = firstIndex; index < distinctIds.size(); index += lanes) {
+                            String bookUnitPartId = distinctIds.get(index);
+                            try {
+                                skills.set(index, getPrerequisiteReportSkills(bookUnitPartId, prereqConfigId));
+                            } catch (RuntimeException e) {
+                                failures.set(index, failureReason(e, SKILLS + " of bookUnitPartId " + bookUnitPartId));
+                            }
+                        }
+                    },
+                    executor
+                );
+        }
+        return CompletableFuture
+            .allOf(laneLookups)
+            .thenApply(
+                done -> {
+                    Map<String, List<PrerequisiteReportSkillDTO>> skillsByBookUnitPartId = new LinkedHashMap<>();
+                    Map<String, String> failedBookUnitPartIds = new LinkedHashMap<>();
+                    for (int index = 0; index < distinctIds.size(); index++) {
+                        if (failures.get(index) != null) {
+                            failedBookUnitPartIds.put(distinctIds.get(index), failures.get(index));
+                        } else {
+                            skillsByBookUnitPartId.put(distinctIds.get(index), skills.get(index));
+                        }
+                    }
+                    return PrerequisiteReportSkillsBatch
+                        .builder()
+                        .skills(skillsByBookUnitPartId)
+                        .failedBookUnitPartIds(failedBookUnitPartIds)
+                        .build();
+                }
+            );
+    }
+
+    /**
+     * Fetches everything needed to render the prerequisite report in one go.
+     * Configurations and book unit parts are fetched concurrently, and the skills of the book unit parts are fetched
+     * as soon as the book unit parts arrive. A failing part does not fail the others: its field is left null and
+     * the failure is recorded in failedSections. Skills are reported as failed when the book unit parts failed,
+     * and book unit parts whose skills failed are listed in failedBookUnitPartIds.
+     *
+     * @param request The validated configurations request
+     * @param grade The grade for which the book unit parts are to be fetched
+     * @param prereqConfigId The prereqConfigId used for the book unit parts and skills
+     * @return A future of the aggregated PrerequisiteReportBootstrapResponse, which never completes exceptionally
+     */
+    public CompletableFuture<PrerequisiteReportBootstrapResponse> getPrerequisiteReportBootstrapAsync(
+        PrerequisiteReportConfigurationsRequest request,
+        String grade,
+        String prereqConfigId
+    ) {
+        Map<String, String> failures = new ConcurrentHashMap<>();
+        CompletableFuture<List<BookUnitPartDTO>> bookUnitParts = getBookUnitPartsAsync(grade, prereqConfigId);
+        CompletableFuture<ReportResult<PrerequisiteReportConfigurationDTO>> configurationsSection =
+            getPrerequisiteReportConfigurationsAsync(request)
+                .handle(
+                    (result, e) -> sectionOrNull(result, e, PrerequisiteReportBootstrapResponse.CONFIGURATIONS, failures)
+                );
+        CompletableFuture<List<BookUnitPartDTO>> bookUnitPartsSection = bookUnitParts.handle(
+            (result, e) -> sectionOrNull(result, e, PrerequisiteReportBootstrapResponse.BOOK_UNIT_PARTS, failures)
+        );
+        CompletableFuture<PrerequisiteReportSkillsBatch> skillsSection = bookUnitParts
+            .thenCompose(parts -> getPrerequisiteReportSkillsAsync(bookUnitPartIds(parts), prereqConfigId))
+            .handle((result, e) -> sectionOrNull(result, e, PrerequisiteReportBootstrapResponse.SKILLS, failures));
+
+        return CompletableFuture
+            .allOf(configurationsSection, bookUnitPartsSection, skillsSection)
+            .thenApply(
+                done -> {
+                    // Report the failed sections in a stable order
+                    Map<String, String> failedSections = new LinkedHashMap<>();
+                    for (String section : PrerequisiteReportBootstrapResponse.SECTIONS) {
+                        if (failures.containsKey(section)) {
+                            failedSections.put(section, failures.get(section));
+                        }
+                    }
+                    ReportResult<PrerequisiteReportConfigurationDTO> configurations = configurationsSection.join();
+                    PrerequisiteReportSkillsBatch skills = skillsSection.join();
+                    return PrerequisiteReportBootstrapResponse
+                        .builder()
+                        .configurations(configurations == null ? null : configurations.getValue())
+                        .configurationsStale(configurations != null && configurations.isStale())
+                        .bookUnitParts(bookUnitPartsSection.join())
+                        .skills(skills == null ? null : skills.getSkills())
+                        .failedBookUnitPartIds(skills == null ? null : skills.getFailedBookUnitPartIds())
+                        .failedSections(failedSections)
+                        .build();
+                }
+            );
+    }
+
+    /**
+     * Returns the prerequisite report configurations for the productLine, bookSeriesId and showStandards of the request.
+     *
+     * @param request The validated configurations request
+     * @return The PrerequisiteReportConfigurationDTO
+     */
+    public PrerequisiteReportConfigurationDTO getPrerequisiteReportConfigurations(
+        PrerequisiteReportConfigurationsRequest request
+    ) {
+        ReportKey key = configurationsKey(request);
+        PrerequisiteReportConfigurationDTO configurations = unlessNotFound(
+            key,
+            () ->
+                configurationsFlight.execute(
+                    key,
+                    () -> configurationsBreaker.execute(() -> loadPrerequisiteReportConfigurations(request))
+                )
+        );
+        if (configurations != null) {
+            configurationsCache.put(key, new Loaded<>(configurations, System.nanoTime()));
+        }
+        return configurations;
+    }
+
+    /**
+     * Evicts the cached book unit parts and their serialized response for a single grade and prereqConfigId,
+     * e.g. after that content was republished. Triggered through {@link PrerequisiteReportCacheEndpoint}.
+     */
+    public void evictBookUnitParts(String grade, String prereqConfigId) {
+        log.info("Evicting cached book unit parts for grade: {}, prereqConfigId: {}", grade, prereqConfigId);
+        ReportKey key = ReportKey.of(BOOK_UNIT_PARTS, grade, prereqConfigId);
+        bookUnitPartsCache.invalidate(key);
+        bookUnitPartsFlight.forget(key);
+        notFoundCache.invalidate(key);
+        reportResponseCache.invalidate(key);
+        eventPublisher.publishEvent(new ReportContentEvictedEvent(grade, prereqConfigId));
+    }
+
+    /**
+     * Evicts all cached book unit parts and serialized responses, e.g. after a full content republish.
+     * Triggered through {@link PrerequisiteReportCacheEndpoint}.
+     */
+    public void evictAll() {
+        log.info("Evicting all cached prerequisite report content");
+        bookUnitPartsCache.invalidateAll();
+        bookUnitPartsFlight.forgetAll();
+        skillPagesCache.invalidateAll();
+        configurationsCache.invalidateAll();
+        notFoundCache.invalidateAll();
+        reportResponseCache.invalidateAll();
+        eventPublisher.publishEvent(new ReportContentEvictedEvent(null, null));
+    }
+
+    private List<BookUnitPartDTO> loadBookUnitParts(String grade, String prereqConfigId) {
+        PrerequisiteReportUseCaseEvent event = new PrerequisiteReportUseCaseEvent(BOOK_UNIT_PARTS);
+        event.grade = grade;
+        event.prereqConfigId = prereqConfigId;
+        List<BookUnitPartDTO> bookUnitParts = invokeUseCase(
+            event,
+            () -> prerequisiteReportUseCase.getBookUnitPartsByGradeAndPrereqConfigId(grade, prereqConfigId)
+        );
+        // Published before the parts can be served, so no listed bookUnitPartId is unknown to KnownBookUnitParts
+        eventPublisher.publishEvent(new BookUnitPartsLoadedEvent(grade, prereqConfigId, bookUnitParts));
+        return bookUnitParts;
+    }
+
+    private List<PrerequisiteReportSkillDTO> loadPrerequisiteReportSkills(
+        String bookUnitPartId,
+        String prereqConfigId
+    ) {
+        PrerequisiteReportUseCaseEvent event = new PrerequisiteReportUseCaseEvent(SKILLS);
+        event.bookUnitPartId = bookUnitPartId;
+        event.prereqConfigId = prereqConfigId;
+        return invokeUseCase(
+            event,
+            () -> prerequisiteReportUseCase.getPrereqReportSkillByUnitPartandPrereqConfig(bookUnitPartId, prereqConfigId)
+        );
+    }
+
+    private PrerequisiteReportConfigurationDTO loadPrerequisiteReportConfigurations(
+        PrerequisiteReportConfigurationsRequest request
+    ) {
+        PrerequisiteReportUseCaseEvent event = new PrerequisiteReportUseCaseEvent(CONFIGURATIONS);
+        event.productLine = request.getProductLine();
+        return invokeUseCase(
+            event,
+            () ->
+                prerequisiteReportUseCase.getPrerequisiteReportConfigurationsByProductLineBookSeriesIdAndShowStandards(
+                    request.getProductLine(),
+                    request.getBookSeriesId(),
+                    request.isShowStandards()
+                )
+        );
+    }
+
+    /**
+     * Invokes the use case, recording the invocation as a PrerequisiteReportUseCaseEvent when Flight Recorder is on.
+     */
+    private static <V> V invokeUseCase(PrerequisiteReportUseCaseEvent event, Supplier<V> call) {
+        event.begin();
+        try {
+            V result = call.get();
+            event.outcome = "success";
+            event.resultSize = result instanceof Collection ? ((Collection<?>) result).size() : result == null ? 0 : 1;
+            return result;
+        } catch (DataNotFoundException e) {
+            event.outcome = "not-found";
+            throw e;
+        } catch (RuntimeException | Error e) {
+            event.outcome = "error";
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Runs the lookup unless its key recently ended in a DataNotFoundException, in which case that is thrown again
+     * without calling the use case. A DataNotFoundException of the lookup is remembered for the not-found TTL.
+     */
+    private <V> V unlessNotFound(ReportKey key, Supplier<V> lookup) {
+        String notFound = notFoundCache.getIfPresent(key);
+        if (notFound != null) {
+            throw new ReportNotFoundException(notFound);
+        }
+        long generation = notFoundCache.generation();
+        try {
+            return lookup.get();
+        } catch (DataNotFoundException e) {
+            notFoundCache.putIfGeneration(key, String.valueOf(e.getMessage()), generation);
+            throw e;
+        }
+    }
+
+    // Refreshes stale configurations in the background, at most once at a time per key
+    private void refreshConfigurations(ReportKey key, PrerequisiteReportConfigurationsRequest request) {
+        if (!refreshingConfigurations.add(key)) {
+            return;
+        }
+        try {
+            CompletableFuture
+                .runAsync(() -> getPrerequisiteReportConfigurations(request), executor)
+                .whenComplete(
+                    (done, e) -> {
+                        refreshingConfigurations.remove(key);
+                        if (e != null) {
+                            log.warn(
+                                "Refreshing Prerequisite Report Configurations failed, serving stale configurations: {}",
+                                Futures.unwrap(e).getMessage()
+                            );
+                        }
+                    }
+                );
+        } catch (RejectedExecutionException e) {
+            refreshingConfigurations.remove(key);
+        }
+    }
+
+    private static ReportKey configurationsKey(PrerequisiteReportConfigurationsRequest request) {
+        return ReportKey.of(
+            CONFIGURATIONS,
+            request.getProductLine(),
+            request.getBookSeriesId(),
+            request.isShowStandards()
+        );
+    }
+
+    private static List<String> bookUnitPartIds(List<BookUnitPartDTO> bookUnitParts) {
+        return bookUnitParts.stream().map(BookUnitPartDTO::getBookUnitPartId).collect(Collectors.toList());
+    }
+
+    private static <T> T sectionOrNull(T result, Throwable e, String section, Map<String, String> failures) {
+        if (e == null) {
+            return result;
+        }
+        failures.put(section, failureReason(Futures.unwrap(e), "bootstrap section " + section));
+        return null;
+    }
+
+    // Logs the failure of a part of an aggregated response and returns the reason reported for it
+    private static String failureReason(Throwable cause, String part) {
+        if (cause instanceof DataNotFoundException) {
+            log.error("Prerequisite report {} not found: {}", part, cause.getMessage());
+            return PrerequisiteReportBootstrapResponse.NOT_FOUND;
+        }
+        if (cause instanceof CircuitBreaker.OpenException) {
+            if (CIRCUIT_OPEN_LOG.tryAcquire()) {
+                log.warn(
+                    "Prerequisite report {} rejected: {} ({} similar messages suppressed)",
+                    part,
+                    cause.getMessage(),
+                    CIRCUIT_OPEN_LOG.drainSuppressed()
+                );
+            }
+            return PrerequisiteReportBootstrapResponse.SERVICE_UNAVAILABLE;
+        }
+        log.error("Prerequisite report {} failed: ", part, cause);
+        return PrerequisiteReportBootstrapResponse.SERVICE_UNAVAILABLE;
+    }
+
+    private static final class Loaded<V> {
+
+        private final V value;
+        private final long loadedAt;
+
+        private Loaded(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of one request to a prerequisite report endpoint, from the start of the handler until its
+ * response is built or it failed. Arguments that do not apply to the endpoint are null.
+ */
+@Name("com.cainc.commoncontent.PrerequisiteReportRequest")
+@Label("Prerequisite Report Request")
+@Category({ "Common Content", "Prerequisite Report" })
+@Description("A request to a prerequisite report endpoint")
+@StackTrace(false)
+public class PrerequisiteReportRequestEvent extends Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Grade")
+    String grade;
+
+    @Label("Prereq Config Id")
+    String prereqConfigId;
+
+    @Label("Book Unit Part Id")
+    String bookUnitPartId;
+
+    @Label("Product Line")
+    String productLine;
+
+    @Label("Status")
+    int status;
+
+    @Label("Response Size")
+    @Description("0 if the request failed or its body is streamed")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Cache Outcome")
+    @Description(
+        "hit if served from the response cache, miss if loaded, stale if the last good content was served, null if the endpoint has no response cache or the request was rejected before the lookup"
+    )
+    String cacheOutcome;
+
+    PrerequisiteReportRequestEvent(String endpoint) {
+        this.endpoint = endpoint;
+    }
+}
@@ -0,0 +1,47 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of one PrerequisiteReportUseCase invocation, i.e. a lookup that was neither cached nor
+ * coalesced with a concurrent identical one. Arguments that do not apply to the operation are null.
+ */
+@Name("com.cainc.commoncontent.PrerequisiteReportUseCase")
+@Label("Prerequisite Report Use Case Invocation")
+@Category({ "Common Content", "Prerequisite Report" })
+@Description("A call of the prerequisite report use case")
+@StackTrace(false)
+public class PrerequisiteReportUseCaseEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Grade")
+    String grade;
+
+    @Label("Prereq Config Id")
+    String prereqConfigId;
+
+    @Label("Book Unit Part Id")
+    String bookUnitPartId;
+
+    @Label("Product Line")
+    String productLine;
+
+    @Label("Result Size")
+    @Description("The number of DTOs returned, 1 for configurations")
+    int resultSize;
+
+    @Label("Outcome")
+    @Description("success, not-found or error")
+    String outcome;
+
+    PrerequisiteReportUseCaseEvent(String operation) {
+        this.operation = operation;
+    }
+}
@@ -0,0 +1,187 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.support.exception.DataNotFoundException;
+import com.cainc.commons.core.enums.GradeLevelEnum;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preloads the prerequisite report book unit parts after startup so the first teachers after a deploy do not pay
+ * the cold-path latency.
+ *
+ * For every GradeLevelEnum authoring abbreviation and every configured prereqConfigId the book unit parts are
+ * fetched in parallel into the book unit parts cache, which the book unit parts endpoint and the skills batches
+ * read. Skills are not warmed up: they are only coalesced, not cached, so preloading them would be thrown away.
+ *
+ * Spring Boot only reports readiness as ACCEPTING_TRAFFIC once all ApplicationRunners have returned, so the
+ * warm-up gates readiness. If less than the required coverage could be loaded, readiness is explicitly kept at
+ * REFUSING_TRAFFIC and the failed combinations are retried every retry-interval until the coverage is reached.
+ * Liveness is already CORRECT at that point, so a slow backend during a deploy delays readiness instead of failing
+ * the startup. A combination that does not exist (DataNotFoundException) counts as loaded, since its absence is
+ * now known.
+ */
+@Component
+@Slf4j
+public class PrerequisiteReportWarmUp implements ApplicationRunner {
+
+    private final PrerequisiteReportLookup prerequisiteReportLookup;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<String> prereqConfigIds;
+    private final double requiredCoverage;
+    private final int maxConcurrency;
+    private final Duration retryInterval;
+
+    private final AtomicInteger loaded = new AtomicInteger();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private volatile int total;
+
+    public PrerequisiteReportWarmUp(
+        PrerequisiteReportLookup prerequisiteReportLookup,
+        MeterRegistry meterRegistry,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${prerequisite-report.warm-up.prereq-config-ids:}") List<String> prereqConfigIds,
+        @Value("${prerequisite-report.warm-up.required-coverage:0.9}") double requiredCoverage,
+        @Value("${prerequisite-report.warm-up.max-concurrency:4}") int maxConcurrency,
+        @Value("${prerequisite-report.warm-up.retry-interval:30s}") Duration retryInterval
+    ) {
+        this.prerequisiteReportLookup = prerequisiteReportLookup;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.prereqConfigIds =
+            prereqConfigIds.stream().filter(id -> !id.isBlank()).map(String::trim).collect(Collectors.toList());
+        this.requiredCoverage = requiredCoverage;
+        this.maxConcurrency = maxConcurrency;
+        this.retryInterval = retryInterval;
+        Gauge
+            .builder("prerequisite.report.warm-up.coverage", this, PrerequisiteReportWarmUp::coverage)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (prereqConfigIds.isEmpty()) {
+            log.info("No prerequisite-report.warm-up.prereq-config-ids configured, skipping prerequisite report warm-up");
+            return;
+        }
+        List<Combination> pending = new ArrayList<>();
+        for (String prereqConfigId : prereqConfigIds) {
+            for (GradeLevelEnum gradeLevel : GradeLevelEnum.values()) {
+                pending.add(new Combination(gradeLevel.getAuthoringAbbreviation(), prereqConfigId));
+            }
+        }
+        total = pending.size();
+        log.info("Warming up prerequisite report content for {} grade and prereqConfigId combinations", total);
+
+        long start = System.nanoTime();
+        pending = warmUp(pending);
+        while (coverage() < requiredCoverage) {
+            log.warn(
+                "Prerequisite report warm-up covered {} of the content, {} is required; refusing traffic and retrying {} combinations in {}",
+                String.format("%.2f", coverage()),
+                requiredCoverage,
+                pending.size(),
+                retryInterval
+            );
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            if (stopped.await(retryInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.info("Prerequisite report warm-up stopped by shutdown");
+                return;
+            }
+            pending = warmUp(pending);
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        meterRegistry.timer("prerequisite.report.warm-up.duration").record(duration);
+        log.info("Prerequisite report warm-up loaded {} of {} combinations in {}", loaded.get(), total, duration);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped.countDown();
+    }
+
+    /**
+     * @return The fraction of the warm-up set loaded so far, 1 if there is nothing to warm up
+     */
+    public double coverage() {
+        int combinations = total;
+        return combinations == 0 ? 1.0 : (double) loaded.get() / combinations;
+    }
+
+    // Loads the combinations and returns the ones that failed
+    private List<Combination> warmUp(List<Combination> combinations) throws InterruptedException {
+        // Bounds the warm-up's share of the prerequisite report executor
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Queue<Combination> failed = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<?>> loads = new ArrayList<>(combinations.size());
+        for (Combination combination : combinations) {
+            permits.acquire();
+            loads.add(warmUp(combination, failed).whenComplete((result, e) -> permits.release()));
+        }
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).join();
+        return new ArrayList<>(failed);
+    }
+
+    // Never completes exceptionally, failures are added to failed
+    private CompletableFuture<Void> warmUp(Combination combination, Queue<Combination> failed) {
+        try {
+            return prerequisiteReportLookup
+                .getBookUnitPartsAsync(combination.grade, combination.prereqConfigId)
+                .handle(
+                    (bookUnitParts, e) -> {
+                        recordWarmUp(combination, e == null ? null : Futures.unwrap(e), failed);
+                        return null;
+                    }
+                );
+        } catch (RuntimeException e) {
+            recordWarmUp(combination, e, failed);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void recordWarmUp(Combination combination, Throwable e, Queue<Combination> failed) {
+        if (e == null || e instanceof DataNotFoundException) {
+            loaded.incrementAndGet();
+        } else {
+            failed.add(combination);
+            log.warn(
+                "Prerequisite report warm-up failed for grade: {}, prereqConfigId: {}: {}",
+                combination.grade,
+                combination.prereqConfigId,
+                e.getMessage()
+            );
+        }
+    }
+
+    private static final class Combination {
+
+        private final String grade;
+        private final String prereqConfigId;
+
+        private Combination(String grade, String prereqConfigId) {
+            this.grade = grade;
+            this.prereqConfigId = prereqConfigId;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how many lines of one kind are logged per interval, so a flood of bad requests cannot turn into
+ * a flood of ERROR lines. Suppressed lines are counted and the count is reported with the next logged line.
+ *
+ * <pre>
+ * if (rateLimitedLog.tryAcquire()) {
+ *     log.error("Something failed: {} ({} similar suppressed)", message, rateLimitedLog.drainSuppressed());
+ * }
+ * </pre>
+ */
+final class RateLimitedLog {
+
+    private final int permitsPerInterval;
+    private final long intervalNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    RateLimitedLog(int permitsPerInterval, Duration interval) {
+        this.permitsPerInterval = permitsPerInterval;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * @return true if a line may be logged now, otherwise the line is counted as suppressed
+     */
+    boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permitsPerInterval) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    /**
+     * @return The number of lines suppressed since the last call
+     */
+    long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
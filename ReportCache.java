@@ -0,0 +1,292 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A bounded, read-through in-process cache for prerequisite report content.
+ *
+ * Entries expire after a fixed time-to-live and the least recently used entries are evicted once the
+ * total weight of the cache exceeds its maximum. Concurrent misses on the same key share a single load.
+ * Every invalidation starts a new generation, and a value loaded in an earlier generation is not cached, so a load
+ * that was in flight while content was evicted cannot put the evicted content back.
+ * Hits, misses, evictions, size and weight are published to the given MeterRegistry tagged with the cache name.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class ReportCache<K, V> {
+
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final ToLongFunction<? super V> weigher;
+
+    // Access ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    private long totalWeight;
+    // Incremented on every invalidation
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter explicitEvictions;
+
+    public ReportCache(
+        String name,
+        long maxWeight,
+        Duration ttl,
+        ToLongFunction<? super V> weigher,
+        MeterRegistry meterRegistry
+    ) {
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = weigher;
+        this.hits = cacheCounter(meterRegistry, "prerequisite.report.cache.gets", name, "result", "hit");
+        this.misses = cacheCounter(meterRegistry, "prerequisite.report.cache.gets", name, "result", "miss");
+        this.sizeEvictions = cacheCounter(meterRegistry, "prerequisite.report.cache.evictions", name, "cause", "size");
+        this.expiredEvictions =
+            cacheCounter(meterRegistry, "prerequisite.report.cache.evictions", name, "cause", "expired");
+        this.explicitEvictions =
+            cacheCounter(meterRegistry, "prerequisite.report.cache.evictions", name, "cause", "explicit");
+        Gauge
+            .builder("prerequisite.report.cache.size", this, ReportCache::size)
+            .tag("cache", name)
+            .register(meterRegistry);
+        Gauge
+            .builder("prerequisite.report.cache.weight", this, ReportCache::weight)
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value for the key, loading and caching it on a miss.
+     * If another thread is already loading the same key, this call waits for that load instead of starting its own.
+     *
+     * @param key The cache key
+     * @param loader The function computing the value on a miss; null results are returned but not cached
+     * @return The cached or freshly loaded value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return Futures.join(inFlight);
+        }
+        try {
+            // A load for this key may have completed between the lookup and claiming the load
+            V value = lookup(key);
+            if (value == null) {
+                long loadGeneration = generation();
+                value = loader.apply(key);
+                putIfGeneration(key, value, loadGeneration);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * Returns the cached value for the key without loading it.
+     *
+     * @param key The cache key
+     * @return The cached value, or null if absent or expired
+     */
+    public V getIfPresent(K key) {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos, -1);
+    }
+
+    /**
+     * Caches the value for at most the given time-to-live, e.g. for content that only stays fresh that long.
+     *
+     * @param key The cache key
+     * @param value The value; null is not cached
+     * @param ttl The time-to-live of this entry, capped at the time-to-live of the cache
+     */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttl.toNanos(), ttlNanos), -1);
+    }
+
+    /**
+     * Caches a value loaded outside of the cache unless the cache was invalidated since the load started.
+     *
+     * @param key The cache key
+     * @param value The value; null is not cached
+     * @param loadGeneration The {@link #generation()} read before the load started
+     */
+    public void putIfGeneration(K key, V value, long loadGeneration) {
+        put(key, value, ttlNanos, loadGeneration);
+    }
+
+    /**
+     * As {@link #putIfGeneration(Object, Object, long)}, caching the value for at most the given time-to-live.
+     */
+    public void putIfGeneration(K key, V value, Duration ttl, long loadGeneration) {
+        put(key, value, Math.min(ttl.toNanos(), ttlNanos), loadGeneration);
+    }
+
+    /**
+     * @return The current generation, to be read before a load whose value is put with putIfGeneration
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // loadGeneration is -1 for values that are put unconditionally
+    private void put(K key, V value, long entryTtlNanos, long loadGeneration) {
+        if (value == null || entryTtlNanos <= 0) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, weigher.applyAsLong(value), System.nanoTime() + entryTtlNanos);
+        lock.lock();
+        try {
+            if (loadGeneration >= 0 && loadGeneration != generation) {
+                return;
+            }
+            Entry<V> previous = entries.put(key, entry);
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+            totalWeight += entry.weight;
+            evictToMaxWeight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            generation++;
+            Entry<V> removed = entries.remove(key);
+            if (removed != null) {
+                totalWeight -= removed.weight;
+                explicitEvictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            explicitEvictions.increment(entries.size());
+            entries.clear();
+            totalWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weight() {
+        lock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private V lookup(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtNanos - System.nanoTime() <= 0) {
+                entries.remove(key);
+                totalWeight -= entry.weight;
+                expiredEvictions.increment();
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictToMaxWeight() {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (totalWeight > maxWeight && iterator.hasNext()) {
+            Entry<V> eldest = iterator.next();
+            iterator.remove();
+            totalWeight -= eldest.weight;
+            sizeEvictions.increment();
+        }
+    }
+
+    private static Counter cacheCounter(
+        MeterRegistry meterRegistry,
+        String meterName,
+        String cacheName,
+        String tagKey,
+        String tagValue
+    ) {
+        return Counter.builder(meterName).tag("cache", cacheName).tag(tagKey, tagValue).register(meterRegistry);
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long weight;
+        private final long expiresAtNanos;
+
+        private Entry(V value, long weight, long expiresAtNanos) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+/**
+ * Published by {@link PrerequisiteReportLookup} after cached prerequisite report content was evicted, e.g. because
+ * it was republished, so components holding data derived from that content can drop or rebuild it.
+ */
+public class ReportContentEvictedEvent {
+
+    private final String grade;
+    private final String prereqConfigId;
+
+    /**
+     * @param grade The grade whose content was evicted, null if all content was evicted
+     * @param prereqConfigId The prereqConfigId whose content was evicted, null if all content was evicted
+     */
+    public ReportContentEvictedEvent(String grade, String prereqConfigId) {
+        this.grade = grade;
+        this.prereqConfigId = prereqConfigId;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public String getPrereqConfigId() {
+        return prereqConfigId;
+    }
+
+    /**
+     * @return true if all content was evicted rather than that of a single grade and prereqConfigId
+     */
+    public boolean isAll() {
+        return prereqConfigId == null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.support.exception.InvalidRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors of paginated prerequisite report responses.
+ *
+ * A cursor is the sort key of the last item of its page, the number of items with that key returned so far and
+ * a fingerprint of the lookup it was issued for, so a cursor cannot be replayed against different request
+ * arguments. Since it does not depend on the position of the item, a walk stays correct when the items change
+ * between pages. Clients must treat it as opaque.
+ */
+final class ReportCursor {
+
+    private final String sortKey;
+    private final int skip;
+
+    private ReportCursor(String sortKey, int skip) {
+        this.sortKey = sortKey;
+        this.skip = skip;
+    }
+
+    /**
+     * @return The encoded sort key of the last item returned
+     */
+    String getSortKey() {
+        return sortKey;
+    }
+
+    /**
+     * @return The number of items with that sort key returned so far
+     */
+    int getSkip() {
+        return skip;
+    }
+
+    /**
+     * @param key The lookup the page belongs to
+     * @param sortKey The encoded sort key of the last item of the page
+     * @param skip The number of items with that sort key up to and including the last item of the page
+     * @return The opaque cursor of the next page
+     */
+    static String encode(ReportKey key, String sortKey, int skip) {
+        String cursor = Integer.toHexString(key.hashCode()) + "." + skip + "." + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param key The lookup of the current request
+     * @param cursor The cursor sent by the client, null or blank for the first page
+     * @return The decoded cursor, null for the first page
+     * @throws InvalidRequestException if the cursor is malformed or was issued for a different lookup
+     */
+    static ReportCursor decode(ReportKey key, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\.", 3);
+            int skip = Integer.parseInt(parts[1]);
+            if (skip < 1 || !parts[0].equals(Integer.toHexString(key.hashCode()))) {
+                throw InvalidReportRequestException.INVALID_CURSOR;
+            }
+            return new ReportCursor(parts[2], skip);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw InvalidReportRequestException.INVALID_CURSOR;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Identifies a single prerequisite report lookup by operation name and request arguments.
+ * It is used as the key of the report caches so that equal requests resolve to the same entry.
+ */
+@Value
+public class ReportKey {
+
+    String operation;
+    List<String> arguments;
+
+    /**
+     * Builds a key for the given operation, converting every argument to its string form.
+     *
+     * @param operation The name of the lookup, e.g. "book-unit-parts"
+     * @param arguments The request arguments identifying the lookup
+     * @return A new ReportKey
+     */
+    public static ReportKey of(String operation, Object... arguments) {
+        List<String> values = new ArrayList<>(arguments.length);
+        for (Object argument : arguments) {
+            values.add(String.valueOf(argument));
+        }
+        return new ReportKey(operation, Collections.unmodifiableList(values));
+    }
+}
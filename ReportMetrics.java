@@ -0,0 +1,164 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the phase durations and response sizes of the prerequisite report endpoints.
+ *
+ * Every recorded phase of a request goes to prerequisite.report.phase tagged with the endpoint, phase
+ * (validate, cache, fetch or serialize) and response status, and the size of the response body to
+ * prerequisite.report.response.size. Both have histogram buckets at the service level objectives, so p99 per phase
+ * can be alerted on. Requests are recorded for every outcome, so rejected and failed requests are included.
+ *
+ * The meters are registered on first use of a tag combination and then kept, so recording a request does not
+ * look them up in the MeterRegistry.
+ *
+ * The request dimensions are bounded: grade is tagged only with valid grade abbreviations, productLine only with
+ * the values listed in prerequisite-report.metrics.product-lines, and anything else is tagged as "other".
+ */
+@Component
+public class ReportMetrics {
+
+    static final String OTHER = "other";
+
+    private static final Duration[] LATENCY_SLOS = {
+        Duration.ofMillis(5),
+        Duration.ofMillis(10),
+        Duration.ofMillis(25),
+        Duration.ofMillis(50),
+        Duration.ofMillis(100),
+        Duration.ofMillis(250),
+        Duration.ofMillis(500),
+        Duration.ofSeconds(1),
+        Duration.ofMillis(2500),
+        Duration.ofSeconds(5),
+    };
+    private static final double[] SIZE_SLOS = { 1024, 8192, 65536, 262144, 1048576, 4194304 };
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> productLines;
+    private final Map<MeterKey, Timer> phaseTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> responseSizes = new ConcurrentHashMap<>();
+
+    public ReportMetrics(
+        MeterRegistry meterRegistry,
+        @Value("${prerequisite-report.metrics.product-lines:}") List<String> productLines
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.productLines =
+            productLines
+                .stream()
+                .filter(productLine -> !productLine.isBlank())
+                .map(String::trim)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Records the phases and the response size of a finished request.
+     *
+     * @param endpoint The endpoint, e.g. "book-unit-parts"
+     * @param timing The phase durations of the request
+     * @param dimensions The bounded request dimensions, see {@link #gradeTags} and {@link #configurationTags}
+     * @param status The HTTP status of the response
+     * @param responseBytes The size of the response body as sent, negative if unknown, e.g. for streamed bodies
+     */
+    public void record(String endpoint, ReportTiming timing, Tags dimensions, int status, long responseBytes) {
+        for (ReportTiming.Phase phase : ReportTiming.Phase.values()) {
+            if (timing.isRecorded(phase)) {
+                phaseTimers
+                    .computeIfAbsent(
+                        new MeterKey(endpoint, phase.tag(), dimensions, status),
+                        key ->
+                            Timer
+                                .builder("prerequisite.report.phase")
+                                .tag("endpoint", endpoint)
+                                .tag("phase", key.phase)
+                                .tag("status", String.valueOf(status))
+                                .tags(dimensions)
+                                .serviceLevelObjectives(LATENCY_SLOS)
+                                .register(meterRegistry)
+                    )
+                    .record(timing.getNanos(phase), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (responseBytes >= 0) {
+            responseSizes
+                .computeIfAbsent(
+                    new MeterKey(endpoint, null, dimensions, status),
+                    key ->
+                        DistributionSummary
+                            .builder("prerequisite.report.response.size")
+                            .baseUnit("bytes")
+                            .tag("endpoint", endpoint)
+                            .tag("status", String.valueOf(status))
+                            .tags(dimensions)
+                            .serviceLevelObjectives(SIZE_SLOS)
+                            .register(meterRegistry)
+                )
+                .record(responseBytes);
+        }
+    }
+
+    public Tags gradeTags(String grade) {
+        return Tags.of("grade", ReportRequestValidator.isGrade(grade) ? grade : OTHER);
+    }
+
+    public Tags configurationTags(String productLine, boolean showStandards) {
+        return Tags.of(
+            "productLine",
+            productLines.contains(productLine) ? productLine : OTHER,
+            "showStandards",
+            String.valueOf(showStandards)
+        );
+    }
+
+    private static final class MeterKey {
+
+        private final String endpoint;
+        private final String phase;
+        private final Tags dimensions;
+        private final int status;
+
+        private MeterKey(String endpoint, String phase, Tags dimensions, int status) {
+            this.endpoint = endpoint;
+            this.phase = phase;
+            this.dimensions = dimensions;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MeterKey)) {
+                return false;
+            }
+            MeterKey other = (MeterKey) o;
+            return (
+                status == other.status &&
+                endpoint.equals(other.endpoint) &&
+                Objects.equals(phase, other.phase) &&
+                dimensions.equals(other.dimensions)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, phase, dimensions, status);
+        }
+    }
+}
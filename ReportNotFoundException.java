@@ -0,0 +1,19 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.support.exception.DataNotFoundException;
+
+/**
+ * A DataNotFoundException raised by the prerequisite report web adapter itself, e.g. for content known to be
+ * missing, that does not capture a stack trace since it would only ever point at the short-circuiting check.
+ */
+public class ReportNotFoundException extends DataNotFoundException {
+
+    public ReportNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,77 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commons.core.enums.GradeLevelEnum;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validates the request parameters of the prerequisite report endpoints.
+ *
+ * The valid grade abbreviations are collected from GradeLevelEnum once, so checking a grade is a single hash
+ * lookup instead of a stream over all grade levels, and none of the checks allocates for a valid request.
+ * Invalid requests are rejected with the shared, stackless InvalidReportRequestExceptions.
+ */
+final class ReportRequestValidator {
+
+    private static final Set<String> GRADES = grades();
+
+    private ReportRequestValidator() {}
+
+    /**
+     * @throws InvalidReportRequestException if the grade is unknown or the prereqConfigId is blank
+     */
+    static void requireGradeAndPrereqConfigId(String grade, String prereqConfigId) {
+        if (!isGrade(grade) || isBlank(prereqConfigId)) {
+            throw InvalidReportRequestException.INVALID_PARAMETERS;
+        }
+    }
+
+    /**
+     * @throws InvalidReportRequestException if the bookUnitPartId or the prereqConfigId is blank
+     */
+    static void requireBookUnitPartIdAndPrereqConfigId(String bookUnitPartId, String prereqConfigId) {
+        if (isBlank(bookUnitPartId) || isBlank(prereqConfigId)) {
+            throw InvalidReportRequestException.EMPTY_ARGUMENTS;
+        }
+    }
+
+    /**
+     * @throws InvalidReportRequestException if the limit is not between 1 and maxLimit
+     */
+    static void requireLimit(int limit, int maxLimit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw InvalidReportRequestException.INVALID_PARAMETERS;
+        }
+    }
+
+    /**
+     * @throws InvalidReportRequestException if there are more than maxSize ids or any of them is blank
+     */
+    static void requireBookUnitPartIds(List<String> bookUnitPartIds, int maxSize) {
+        if (bookUnitPartIds.size() > maxSize) {
+            throw InvalidReportRequestException.INVALID_PARAMETERS;
+        }
+        for (int i = 0; i < bookUnitPartIds.size(); i++) {
+            if (isBlank(bookUnitPartIds.get(i))) {
+                throw InvalidReportRequestException.INVALID_PARAMETERS;
+            }
+        }
+    }
+
+    static boolean isGrade(String grade) {
+        return grade != null && GRADES.contains(grade);
+    }
+
+    static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static Set<String> grades() {
+        Set<String> grades = new HashSet<>();
+        for (GradeLevelEnum gradeLevel : GradeLevelEnum.values()) {
+            grades.add(gradeLevel.getAuthoringAbbreviation());
+        }
+        return Set.copyOf(grades);
+    }
+}
@@ -0,0 +1,402 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+/**
+ * Caches prerequisite report responses as already encoded bytes.
+ *
+ * On a hit the bytes are written to the response as they are, so neither the use case nor Jackson is involved.
+ * On a miss the loaded DTOs are encoded once with the application's HttpMessageConverters and cached, weighed by
+ * their encoded size. Bodies of at least gzip.min-size are also gzip encoded once, when the entry is created, for
+ * clients accepting gzip; the gzip encoding counts towards the weight, so max-bytes bounds both encodings.
+ *
+ * Besides JSON the compact binary formats CBOR and Smile are negotiated through the Accept header whenever their
+ * Jackson dataformat module, and with it their message converter, is on the classpath. Each format is cached
+ * separately.
+ *
+ * Every response carries the strong ETag of its entry, and a request whose If-None-Match matches it is answered
+ * with 304 Not Modified and no body. The share of 304 responses is published as prerequisite.report.responses.
+ */
+@Component
+public class ReportResponseCache {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    // Set to true on responses carrying the last good content instead of fresh content
+    public static final String STALE_HEADER = "X-Content-Stale";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    // Clients may keep the response but must revalidate it with If-None-Match before using it
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final List<HttpMessageConverter<?>> messageConverters;
+    private final List<MediaType> supportedMediaTypes = new ArrayList<>();
+    private final ReportCache<EncodedKey, SerializedReport> responses;
+    private final boolean gzipEnabled;
+    private final boolean serverTimingEnabled;
+    private final int gzipMinSize;
+    private final Counter fullResponses;
+    private final Counter notModifiedResponses;
+
+    public ReportResponseCache(
+        HttpMessageConverters httpMessageConverters,
+        MeterRegistry meterRegistry,
+        @Value("${prerequisite-report.cache.responses.max-bytes:67108864}") long maxBytes,
+        @Value("${prerequisite-report.cache.responses.ttl:10m}") Duration ttl,
+        @Value("${prerequisite-report.cache.responses.gzip.enabled:true}") boolean gzipEnabled,
+        @Value("${prerequisite-report.cache.responses.gzip.min-size:1024}") int gzipMinSize,
+        @Value("${prerequisite-report.server-timing.enabled:false}") boolean serverTimingEnabled
+    ) {
+        this.messageConverters = httpMessageConverters.getConverters();
+        // JSON first, so it is chosen when the client accepts any media type
+        for (MediaType mediaType : List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            MediaType.valueOf(APPLICATION_SMILE_VALUE)
+        )) {
+            if (findConverter(Object.class, mediaType) != null) {
+                supportedMediaTypes.add(mediaType);
+            }
+        }
+        this.responses = new ReportCache<>("responses", maxBytes, ttl, SerializedReport::weight, meterRegistry);
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinSize = gzipMinSize;
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.fullResponses = Counter.builder("prerequisite.report.responses").tag("status", "200").register(meterRegistry);
+        this.notModifiedResponses =
+            Counter.builder("prerequisite.report.responses").tag("status", "304").register(meterRegistry);
+    }
+
+    /**
+     * Returns the serialized response for the key in the given media type, loading and encoding it on a miss.
+     *
+     * @param key The key of the response, e.g. the operation and request arguments
+     * @param mediaType The media type negotiated for the request
+     * @param timing Receives the durations of the cache, fetch and serialize phases
+     * @param loader Starts loading the response DTOs on a miss
+     * @return A future of the serialized response, already completed on a hit
+     */
+    public <T> CompletableFuture<SerializedReport> get(
+        ReportKey key,
+        MediaType mediaType,
+        ReportTiming timing,
+        Supplier<CompletableFuture<T>> loader
+    ) {
+        return get(key, mediaType, FieldProjection.ALL, timing, loader);
+    }
+
+    /**
+     * Returns the serialized response for the key in the given media type, loading it on a miss and encoding
+     * only the properties selected by the projection. The key must identify the projection as well.
+     *
+     * @param key The key of the response, including the canonical fields of the projection
+     * @param mediaType The media type negotiated for the request
+     * @param projection The properties to be written
+     * @param timing Receives the durations of the cache, fetch and serialize phases
+     * @param loader Starts loading the response DTOs on a miss, a stale ReportResult is served but not cached
+     * @return A future of the serialized response, already completed on a hit
+     */
+    public <T> CompletableFuture<SerializedReport> get(
+        ReportKey key,
+        MediaType mediaType,
+        FieldProjection projection,
+        ReportTiming timing,
+        Supplier<CompletableFuture<T>> loader
+    ) {
+        EncodedKey encodedKey = new EncodedKey(key, mediaType);
+        long lookup = System.nanoTime();
+        SerializedReport cached = responses.getIfPresent(encodedKey);
+        timing.record(ReportTiming.Phase.CACHE, lookup);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        // Read before the load, so a response loaded while it was invalidated is served but not cached
+        long generation = responses.generation();
+        long fetch = System.nanoTime();
+        CompletableFuture<T> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            timing.record(ReportTiming.Phase.FETCH, fetch);
+            throw e;
+        }
+        // The fetch phase is recorded for failed loads too, so slow failures show up in the phase metrics
+        return load
+            .whenComplete((value, e) -> timing.record(ReportTiming.Phase.FETCH, fetch))
+            .thenApply(
+                value -> {
+                    long serialization = System.nanoTime();
+                    SerializedReport serialized = serializeAndCache(
+                        encodedKey,
+                        value,
+                        mediaType,
+                        projection,
+                        generation
+                    );
+                    timing.record(ReportTiming.Phase.SERIALIZE, serialization);
+                    return serialized;
+                }
+            );
+    }
+
+    /**
+     * Builds the response for the serialized bytes: 304 if the client already has this representation,
+     * otherwise 200 with the bytes, gzip encoded if the client accepts it.
+     *
+     * With prerequisite-report.server-timing.enabled the phase durations of the request are added as a
+     * Server-Timing header; otherwise the timing is not looked at.
+     *
+     * @param serialized The serialized response
+     * @param requestHeaders The headers of the request, for Accept-Encoding and If-None-Match
+     * @param timing The phase durations of the request so far
+     * @return The response entity
+     */
+    public ResponseEntity<byte[]> toResponse(
+        SerializedReport serialized,
+        HttpHeaders requestHeaders,
+        ReportTiming timing
+    ) {
+        boolean gzip = serialized.hasGzip() && acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = gzip ? serialized.getGzipETag() : serialized.getETag();
+        if (matches(requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            notModifiedResponses.increment();
+            ResponseEntity.BodyBuilder notModified = ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .header(HttpHeaders.VARY, VARY);
+            if (serverTimingEnabled) {
+                notModified.header(SERVER_TIMING_HEADER, timing.toServerTiming());
+            }
+            return notModified.build();
+        }
+        fullResponses.increment();
+        ResponseEntity.BodyBuilder response = ResponseEntity
+            .ok()
+            .contentType(serialized.getMediaType())
+            .eTag(eTag)
+            .cacheControl(REVALIDATE)
+            .header(HttpHeaders.VARY, VARY);
+        if (serialized.isStale()) {
+            response.header(STALE_HEADER, "true");
+        }
+        if (serverTimingEnabled) {
+            response.header(SERVER_TIMING_HEADER, timing.toServerTiming());
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(serialized.getGzip());
+        }
+        return response.body(serialized.getBody());
+    }
+
+    public void invalidate(ReportKey key) {
+        for (MediaType mediaType : supportedMediaTypes) {
+            responses.invalidate(new EncodedKey(key, mediaType));
+        }
+    }
+
+    public void invalidateAll() {
+        responses.invalidateAll();
+    }
+
+    // Stale results are served but not cached, so the next request sees the refreshed content, and fresh results
+    // are cached only for as long as they stay fresh. Nothing is cached if the cache was invalidated since the
+    // load started, as the load may have read the content from before the invalidation.
+    private SerializedReport serializeAndCache(
+        EncodedKey encodedKey,
+        Object value,
+        MediaType mediaType,
+        FieldProjection projection,
+        long generation
+    ) {
+        if (value instanceof ReportResult) {
+            ReportResult<?> result = (ReportResult<?>) value;
+            SerializedReport serialized = serialize(result.getValue(), mediaType, projection, result.isStale());
+            if (!result.isStale()) {
+                responses.putIfGeneration(encodedKey, serialized, result.getFreshFor(), generation);
+            }
+            return serialized;
+        }
+        SerializedReport serialized = serialize(value, mediaType, projection, false);
+        responses.putIfGeneration(encodedKey, serialized, generation);
+        return serialized;
+    }
+
+    /**
+     * Picks the media type of the response from the Accept header, JSON if the client accepts any.
+     *
+     * @param requestHeaders The headers of the request
+     * @return The most preferred of the supported media types
+     * @throws HttpMediaTypeNotAcceptableException if none of the supported media types is accepted
+     */
+    public MediaType negotiate(HttpHeaders requestHeaders) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> acceptedMediaTypes = requestHeaders.getAccept();
+        if (acceptedMediaTypes.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted = new ArrayList<>(acceptedMediaTypes);
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType acceptedMediaType : accepted) {
+            for (MediaType supportedMediaType : supportedMediaTypes) {
+                if (acceptedMediaType.getQualityValue() > 0 && acceptedMediaType.includes(supportedMediaType)) {
+                    return supportedMediaType;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(supportedMediaTypes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private SerializedReport serialize(Object value, MediaType mediaType, FieldProjection projection, boolean stale) {
+        HttpMessageConverter<Object> converter = (HttpMessageConverter<Object>) findConverter(
+            value == null ? Object.class : value.getClass(),
+            mediaType
+        );
+        BufferedOutputMessage message = new BufferedOutputMessage();
+        try {
+            if (!projection.isAll() && converter instanceof AbstractJackson2HttpMessageConverter) {
+                ObjectMapper objectMapper = ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper();
+                byte[] body = projection.writerFor(objectMapper).writeValueAsBytes(value);
+                return new SerializedReport(mediaType, body, stale, shouldGzip(body));
+            }
+            converter.write(value, mediaType, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize prerequisite report response", e);
+        }
+        byte[] body = message.body.toByteArray();
+        return new SerializedReport(mediaType, body, stale, shouldGzip(body));
+    }
+
+    private boolean shouldGzip(byte[] body) {
+        return gzipEnabled && body.length >= gzipMinSize;
+    }
+
+    private HttpMessageConverter<?> findConverter(Class<?> type, MediaType mediaType) {
+        for (HttpMessageConverter<?> converter : messageConverters) {
+            if (converter.canWrite(type, mediaType)) {
+                return converter;
+            }
+        }
+        return null;
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ prefix sent back by a proxy still matches
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // gzip is acceptable if it is listed with a q-value above 0, or if it is not listed but * is
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            int parameters = coding.indexOf(';');
+            String name = (parameters < 0 ? coding : coding.substring(0, parameters)).trim();
+            double quality = parameters < 0 ? 1.0 : quality(coding.substring(parameters + 1));
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : anyQuality > 0;
+    }
+
+    // The q parameter of an Accept-Encoding coding, 1 if absent and 0 if malformed
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter.substring(separator + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private static final class EncodedKey {
+
+        private final ReportKey key;
+        private final MediaType mediaType;
+
+        private EncodedKey(ReportKey key, MediaType mediaType) {
+            this.key = key;
+            this.mediaType = mediaType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EncodedKey)) {
+                return false;
+            }
+            EncodedKey other = (EncodedKey) o;
+            return key.equals(other.key) && mediaType.equals(other.mediaType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, mediaType);
+        }
+    }
+
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
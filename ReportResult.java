@@ -0,0 +1,52 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.time.Duration;
+
+/**
+ * A looked up prerequisite report value together with whether it is stale, i.e. the last good value served
+ * while a fresh one is being loaded or the downstream service is unavailable. A fresh value may say for how much
+ * longer it stays fresh, so caches holding it do not serve it past that.
+ *
+ * @param <V> The value type
+ */
+public final class ReportResult<V> {
+
+    private static final Duration UNBOUNDED = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final V value;
+    private final boolean stale;
+    private final Duration freshFor;
+
+    private ReportResult(V value, boolean stale, Duration freshFor) {
+        this.value = value;
+        this.stale = stale;
+        this.freshFor = freshFor;
+    }
+
+    public static <V> ReportResult<V> fresh(V value) {
+        return new ReportResult<>(value, false, UNBOUNDED);
+    }
+
+    public static <V> ReportResult<V> fresh(V value, Duration freshFor) {
+        return new ReportResult<>(value, false, freshFor);
+    }
+
+    public static <V> ReportResult<V> stale(V value) {
+        return new ReportResult<>(value, true, Duration.ZERO);
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * @return How much longer the value stays fresh, zero if it is stale
+     */
+    public Duration getFreshFor() {
+        return freshFor;
+    }
+}
@@ -0,0 +1,75 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes prerequisite report lists to the response one DTO at a time.
+ *
+ * Only the DTO currently being written is held in serialized form, so the memory a streamed response needs
+ * no longer grows with the size of its encoding. The output is flushed every few DTOs, letting the client start
+ * parsing before the last one is written. Lists are written either as one JSON array or as newline delimited
+ * JSON (application/x-ndjson), where every DTO is a line of its own.
+ */
+@Component
+public class ReportStreamWriter {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf(APPLICATION_NDJSON_VALUE);
+
+    private static final int FLUSH_EVERY = 50;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter itemWriter;
+
+    public ReportStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.itemWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * @param items The DTOs to be written
+     * @return A body writing the items as a single JSON array
+     */
+    public StreamingResponseBody jsonArray(List<?> items) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                int written = 0;
+                for (Object item : items) {
+                    itemWriter.writeValue(generator, item);
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * @param items The DTOs to be written
+     * @return A body writing the items as newline delimited JSON, flushing after every line
+     */
+    public StreamingResponseBody ndjson(List<?> items) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines are terminated explicitly instead of separated by the default space
+                generator.setRootValueSeparator(null);
+                for (Object item : items) {
+                    itemWriter.writeValue(generator, item);
+                    generator.writeRaw('\n');
+                    generator.flush();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.util.Locale;
+
+/**
+ * Durations of the phases of a single prerequisite report request.
+ *
+ * A request records each phase it goes through, e.g. a response cache hit has no fetch and no serialize phase.
+ * The phases of one request run one after another, possibly on different threads, and are ordered by the
+ * completion of the futures in between, so no synchronization is needed.
+ */
+public final class ReportTiming {
+
+    public enum Phase {
+        VALIDATE,
+        CACHE,
+        FETCH,
+        SERIALIZE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        /**
+         * @return The lower case name of the phase, e.g. for metric tags
+         */
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private final long[] nanos = new long[Phase.values().length];
+    private int recorded;
+
+    /**
+     * Records the phase as having run from startNanos until now.
+     *
+     * @param phase The phase
+     * @param startNanos The System.nanoTime() at which the phase started
+     */
+    public void record(Phase phase, long startNanos) {
+        nanos[phase.ordinal()] += System.nanoTime() - startNanos;
+        recorded |= 1 << phase.ordinal();
+    }
+
+    public boolean isRecorded(Phase phase) {
+        return (recorded & (1 << phase.ordinal())) != 0;
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return The recorded phases in Server-Timing header syntax, e.g. "validate;dur=0.042, cache;dur=0.003"
+     */
+    public String toServerTiming() {
+        StringBuilder serverTiming = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            if (isRecorded(phase)) {
+                if (serverTiming.length() > 0) {
+                    serverTiming.append(", ");
+                }
+                // Milliseconds with microsecond precision, without going through String.format
+                long micros = getNanos(phase) / 1000;
+                long fraction = micros % 1000;
+                serverTiming.append(phase.tag()).append(";dur=").append(micros / 1000).append('.');
+                if (fraction < 100) {
+                    serverTiming.append(fraction < 10 ? "00" : "0");
+                }
+                serverTiming.append(fraction);
+            }
+        }
+        return serverTiming.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+/**
+ * A prerequisite report response body that has already been encoded in one media type, e.g. JSON or CBOR,
+ * optionally together with its gzip encoding, which is then computed once when the entry is created.
+ * Both encodings have a strong ETag derived from the hash of the body, computed once when the entry is created.
+ * The weight of the entry counts both encodings, so caches weighed by it bound the memory they actually hold.
+ */
+public final class SerializedReport {
+
+    private final MediaType mediaType;
+    private final byte[] body;
+    private final String eTag;
+    private final String gzipETag;
+    private final boolean stale;
+    // Null if the body is not to be served gzip encoded
+    private final byte[] gzip;
+
+    public SerializedReport(MediaType mediaType, byte[] body) {
+        this(mediaType, body, false, false);
+    }
+
+    /**
+     * @param mediaType The media type the body is encoded in
+     * @param body The encoded body
+     * @param stale Whether the body is the last good content served in place of a fresh one
+     * @param gzip Whether to compute and keep the gzip encoding of the body
+     */
+    public SerializedReport(MediaType mediaType, byte[] body, boolean stale, boolean gzip) {
+        this.mediaType = mediaType;
+        this.body = body;
+        this.stale = stale;
+        this.gzip = gzip ? compress(body) : null;
+        String hash = DigestUtils.md5DigestAsHex(body);
+        this.eTag = "\"" + hash + "\"";
+        // A strong ETag identifies one representation, so the gzip encoding gets its own
+        this.gzipETag = "\"" + hash + "-gzip\"";
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getGzipETag() {
+        return gzipETag;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    /**
+     * @return The gzip encoded body, null unless {@link #hasGzip()}
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public int size() {
+        return body.length;
+    }
+
+    /**
+     * @return The number of bytes held by both encodings
+     */
+    public long weight() {
+        return body.length + (gzip == null ? 0L : gzip.length);
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(buffer)) {
+            gzipStream.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip prerequisite report response", e);
+        }
+        return buffer.toByteArray();
+    }
+}
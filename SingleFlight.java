@@ -0,0 +1,84 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key into a single downstream invocation.
+ *
+ * The first caller for a key runs the call, every caller arriving while it is in flight waits for it and
+ * receives the same result or exception. Nothing is retained once the call completes, so this is independent
+ * of any caching. The number of executed and collapsed calls is published to the given MeterRegistry.
+ *
+ * @param <K> The key type
+ * @param <V> The result type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter collapsed;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.executed =
+            Counter
+                .builder("prerequisite.report.coalescing.calls")
+                .tag("operation", operation)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.collapsed =
+            Counter
+                .builder("prerequisite.report.coalescing.calls")
+                .tag("operation", operation)
+                .tag("outcome", "collapsed")
+                .register(meterRegistry);
+        Gauge
+            .builder("prerequisite.report.coalescing.in.flight", inFlight, Map::size)
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call for the key, or joins the call already in flight for it.
+     *
+     * @param key The key identifying identical calls
+     * @param call The downstream invocation
+     * @return The result of the shared invocation
+     */
+    public V execute(K key, Supplier<? extends V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsed.increment();
+            return Futures.join(existing);
+        }
+        executed.increment();
+        try {
+            V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Lets callers arriving from now on start a new call for the key instead of joining the one in flight, e.g.
+     * because the content it is loading was just evicted. Callers already waiting still receive its result.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+}
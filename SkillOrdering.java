@@ -0,0 +1,151 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportSkillDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The stable order in which the prerequisite report skills of a book unit part are paginated.
+ *
+ * Skills are sorted by the serialized PrerequisiteReportSkillDTO property named by
+ * prerequisite-report.pagination.sort-by, so the pages of a cursor walk do not depend on the order the use case
+ * happens to return them in. Cursors carry the sort key of the last skill of their page, so a walk continues
+ * after that key even when the next page is sliced from a newer list. The property should be unique per book unit
+ * part; skills with equal keys keep the use case order. Startup fails if the property does not exist.
+ */
+@Component
+public class SkillOrdering {
+
+    private final ObjectMapper objectMapper;
+    private final AnnotatedMember sortKey;
+    private final JavaType sortKeyType;
+    private final Comparator<Object> keyComparator = Comparator.nullsLast(SkillOrdering::compare);
+    private final Comparator<PrerequisiteReportSkillDTO> comparator;
+
+    public SkillOrdering(
+        ObjectMapper objectMapper,
+        @Value("${prerequisite-report.pagination.sort-by:skillId}") String sortBy
+    ) {
+        AnnotatedMember accessor = null;
+        for (BeanPropertyDefinition property : objectMapper
+            .getSerializationConfig()
+            .introspect(objectMapper.constructType(PrerequisiteReportSkillDTO.class))
+            .findProperties()) {
+            if (property.getName().equals(sortBy) && property.hasGetter()) {
+                accessor = property.getGetter();
+            }
+        }
+        if (accessor == null) {
+            throw new IllegalStateException(
+                "prerequisite-report.pagination.sort-by " + sortBy + " is not a property of PrerequisiteReportSkillDTO"
+            );
+        }
+        this.objectMapper = objectMapper;
+        this.sortKey = accessor;
+        this.sortKeyType = accessor.getType();
+        this.comparator = Comparator.comparing(this::keyOf, keyComparator);
+    }
+
+    /**
+     * @param skills The skills as returned by the use case
+     * @return A sorted copy of the skills
+     */
+    public List<PrerequisiteReportSkillDTO> sort(List<PrerequisiteReportSkillDTO> skills) {
+        List<PrerequisiteReportSkillDTO> sorted = new ArrayList<>(skills);
+        // List.sort is stable, so skills with equal keys keep the use case order
+        sorted.sort(comparator);
+        return sorted;
+    }
+
+    /**
+     * @param skill A skill
+     * @return The sort key of the skill encoded as JSON, for a cursor
+     */
+    public String encodeKey(PrerequisiteReportSkillDTO skill) {
+        try {
+            return objectMapper.writeValueAsString(keyOf(skill));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode prerequisite report skill sort key", e);
+        }
+    }
+
+    /**
+     * @param encodedKey A sort key encoded by {@link #encodeKey}
+     * @return The decoded sort key
+     * @throws InvalidReportRequestException if the key is not a valid sort key
+     */
+    public Object decodeKey(String encodedKey) {
+        try {
+            return objectMapper.readValue(encodedKey, sortKeyType);
+        } catch (JsonProcessingException e) {
+            throw InvalidReportRequestException.INVALID_CURSOR;
+        }
+    }
+
+    /**
+     * Finds where the page after a cursor starts: after the first skip skills with the cursor's key, or at the first
+     * skill with a greater key if the sorted skills have changed since the cursor was issued.
+     *
+     * @param sorted Skills sorted by {@link #sort}
+     * @param key The decoded sort key of the cursor
+     * @param skip The number of skills with that key already returned
+     * @return The index of the first skill of the page
+     */
+    public int indexAfter(List<PrerequisiteReportSkillDTO> sorted, Object key, int skip) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyComparator.compare(keyOf(sorted.get(middle)), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        int index = low;
+        for (int skipped = 0; skipped < skip && index < sorted.size() && hasKey(sorted.get(index), key); skipped++) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @param sorted Skills sorted by {@link #sort}
+     * @param end The index after the last skill of a page, greater than 0
+     * @return The number of skills up to end with the same key as the last skill of the page
+     */
+    public int countWithLastKey(List<PrerequisiteReportSkillDTO> sorted, int end) {
+        Object key = keyOf(sorted.get(end - 1));
+        int count = 1;
+        while (end - count > 0 && hasKey(sorted.get(end - count - 1), key)) {
+            count++;
+        }
+        return count;
+    }
+
+    private boolean hasKey(PrerequisiteReportSkillDTO skill, Object key) {
+        return keyComparator.compare(keyOf(skill), key) == 0;
+    }
+
+    private Object keyOf(PrerequisiteReportSkillDTO skill) {
+        return sortKey.getValue(skill);
+    }
+
+    // Compares values of the same comparable type naturally, e.g. numeric ids, and anything else by its string form
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(Object a, Object b) {
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return String.valueOf(a).compareTo(String.valueOf(b));
+    }
+}
@@ -0,0 +1,97 @@
+package com.cainc.commoncontent.adapters.web.in;
+
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportSkillDTO;
+import com.cainc.commoncontent.support.exception.InvalidRequestException;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parses the fields= parameter of the prerequisite report skills endpoint into a {@link FieldProjection}.
+ *
+ * Each distinct fields= string is parsed and validated against the serialized properties of
+ * PrerequisiteReportSkillDTO once and then served from a small cache, so repeated projections cost a lookup only.
+ * The projection is applied by a Jackson property filter while the skills are written, without building
+ * intermediate maps; nested objects of a projected property are written in full.
+ */
+@Component
+public class SkillProjections {
+
+    private static final String FILTER_ID = "prerequisiteReportSkillProjection";
+
+    private final Set<String> skillProperties = new TreeSet<>();
+    private final ReportCache<String, FieldProjection> projections;
+    // Copies of the converters' ObjectMappers with the projection filter attached to PrerequisiteReportSkillDTO
+    private final Map<ObjectMapper, ObjectMapper> projectingMappers = new ConcurrentHashMap<>();
+
+    public SkillProjections(
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${prerequisite-report.projections.max-size:1000}") long maxSize,
+        @Value("${prerequisite-report.projections.ttl:1h}") Duration ttl
+    ) {
+        for (BeanPropertyDefinition property : objectMapper
+            .getSerializationConfig()
+            .introspect(objectMapper.constructType(PrerequisiteReportSkillDTO.class))
+            .findProperties()) {
+            skillProperties.add(property.getName());
+        }
+        this.projections = new ReportCache<>("projections", maxSize, ttl, projection -> 1L, meterRegistry);
+    }
+
+    /**
+     * Returns the compiled projection for the fields= parameter.
+     *
+     * @param fields Comma separated PrerequisiteReportSkillDTO property names, or null for all properties
+     * @return The projection, {@link FieldProjection#ALL} if fields is null or blank
+     * @throws InvalidRequestException if fields names a property PrerequisiteReportSkillDTO does not have
+     */
+    public FieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return FieldProjection.ALL;
+        }
+        return projections.get(fields, this::compile);
+    }
+
+    private FieldProjection compile(String fields) {
+        Set<String> properties = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String property = field.trim();
+            if (!property.isEmpty()) {
+                if (!skillProperties.contains(property)) {
+                    throw new InvalidReportRequestException("Unknown field: " + property);
+                }
+                properties.add(property);
+            }
+        }
+        if (properties.isEmpty() || properties.equals(skillProperties)) {
+            return FieldProjection.ALL;
+        }
+        return new FieldProjection(
+            String.join(",", properties),
+            Set.copyOf(properties),
+            new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties)),
+            this::projectingMapper
+        );
+    }
+
+    private ObjectMapper projectingMapper(ObjectMapper objectMapper) {
+        return projectingMappers.computeIfAbsent(
+            objectMapper,
+            mapper -> mapper.copy().addMixIn(PrerequisiteReportSkillDTO.class, ProjectedSkill.class)
+        );
+    }
+
+    @JsonFilter(FILTER_ID)
+    private abstract static class ProjectedSkill {}
+}
@@ -0,0 +1,56 @@
+package com.cainc.commoncontent.adapters.web.in.response.prerequisitereport;
+
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.BookUnitPartDTO;
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportConfigurationDTO;
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportSkillDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Aggregated payload of the prerequisite report bootstrap endpoint.
+ *
+ * Each section is null when it could not be fetched, in which case failedSections maps the section name
+ * (configurations, bookUnitParts or skills) to the reason, "Not Found" or "Service Unavailable".
+ * Book unit parts whose skills could not be fetched are left out of skills and listed with their reason in
+ * failedBookUnitPartIds, without failing the skills section. configurationsStale is true when the last good
+ * configurations are returned while fresh ones could not be loaded.
+ */
+@Data
+@Builder
+public class PrerequisiteReportBootstrapResponse {
+
+    public static final String CONFIGURATIONS = "configurations";
+    public static final String BOOK_UNIT_PARTS = "bookUnitParts";
+    public static final String SKILLS = "skills";
+    public static final List<String> SECTIONS = List.of(CONFIGURATIONS, BOOK_UNIT_PARTS, SKILLS);
+
+    public static final String NOT_FOUND = "Not Found";
+    public static final String SERVICE_UNAVAILABLE = "Service Unavailable";
+
+    private PrerequisiteReportConfigurationDTO configurations;
+    private boolean configurationsStale;
+    private List<BookUnitPartDTO> bookUnitParts;
+    // Skills keyed by bookUnitPartId, in the order of bookUnitParts
+    private Map<String, List<PrerequisiteReportSkillDTO>> skills;
+    private Map<String, String> failedBookUnitPartIds;
+    private Map<String, String> failedSections;
+
+    /**
+     * @return true if none of the sections could be fetched
+     */
+    @JsonIgnore
+    public boolean isFailed() {
+        return failedSections.keySet().containsAll(SECTIONS);
+    }
+
+    /**
+     * @return true if every failed section failed because its content was not found
+     */
+    @JsonIgnore
+    public boolean isNotFound() {
+        return failedSections.values().stream().allMatch(NOT_FOUND::equals);
+    }
+}
@@ -0,0 +1,39 @@
+package com.cainc.commoncontent.adapters.web.in.response.prerequisitereport;
+
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportSkillDTO;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The prerequisite report skills of several book unit parts.
+ *
+ * A book unit part whose skills could not be fetched does not fail the others: it is left out of skills and
+ * failedBookUnitPartIds maps its id to the reason, "Not Found" or "Service Unavailable".
+ */
+@Data
+@Builder
+public class PrerequisiteReportSkillsBatch {
+
+    // Skills keyed by bookUnitPartId, in the order of the requested book unit parts
+    private Map<String, List<PrerequisiteReportSkillDTO>> skills;
+    private Map<String, String> failedBookUnitPartIds;
+
+    /**
+     * @return true if book unit parts were requested but the skills of none of them could be fetched
+     */
+    @JsonIgnore
+    public boolean isFailed() {
+        return skills.isEmpty() && !failedBookUnitPartIds.isEmpty();
+    }
+
+    /**
+     * @return true if every failed book unit part failed because its skills were not found
+     */
+    @JsonIgnore
+    public boolean isNotFound() {
+        return failedBookUnitPartIds.values().stream().allMatch(PrerequisiteReportBootstrapResponse.NOT_FOUND::equals);
+    }
+}
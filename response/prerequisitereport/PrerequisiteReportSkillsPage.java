@@ -0,0 +1,19 @@
+package com.cainc.commoncontent.adapters.web.in.response.prerequisitereport;
+
+import com.cainc.commoncontent.core.domain.prerequisitereportdto.PrerequisiteReportSkillDTO;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One page of the prerequisite report skills of a book unit part.
+ *
+ * nextCursor is passed as cursor to fetch the following page and is null on the last page.
+ */
+@Data
+@Builder
+public class PrerequisiteReportSkillsPage {
+
+    private List<PrerequisiteReportSkillDTO> skills;
+    private String nextCursor;
+}